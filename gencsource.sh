@@ -64,6 +64,12 @@ if [[ "${rem:0:1}" == "2" ]]; then
     root=$rem2
 else
     isFunction=false
+    # Bi-consumers (e.g., IntIntConsumer) carry a value type, too.
+    rem2=${rem##[A-Z]+([a-z])}
+    if [[ "$rem2" == "Consumer" && "$rem" != "Consumer" ]]; then
+        VALUE_TYPE_CAP=${rem:0:$(( ${#rem} - ${#rem2} ))}
+        root=$rem2
+    fi
 fi
 
 for((k=0; k<${#TYPE_CAP[*]}; k++)); do
@@ -82,8 +88,10 @@ for((wv=0; wv<${#TYPE_CAP[*]}; wv++)); do
     if [[ ${TYPE_CAP[$wv]} == ${WIDENED_TYPE_CAP[$v]} ]]; then break; fi;
 done
 
-if [[ $root == *Linked* ]]; then
-Linked=Linked
+if [[ $root == *Linked* ]]; then Linked=Linked; fi
+
+# Bounded caches manipulate the links of the underlying linked map directly.
+if [[ $root == *Linked* || $root == *BoundedCache* ]]; then
 
 # Macros for transforming the bi-directional long link. Return values are 32-bit int indexes.
 # SET_UPPER and SET_LOWER do a masked assignment as described at
@@ -138,6 +146,10 @@ $(if [[ "${CLASS[$k]}" != "" ]]; then\
 	fi;\
 	if [[ "${CLASS[$k]}" == "Integer" || "${CLASS[$k]}" == "Long" || "${CLASS[$k]}" == "Double" ]]; then\
 		echo "#define JDK_PRIMITIVE_ITERATOR PrimitiveIterator.Of${TYPE_CAP[$k]}\\n";\
+		echo "#define JDK_PRIMITIVE_SPLITERATOR java.util.Spliterator.Of${TYPE_CAP[$k]}\\n";\
+		echo "#define JDK_PRIMITIVE_STREAM java.util.stream.${TYPE_CAP[$k]}Stream\\n";\
+		echo "#define KEY_STREAM ${TYPE_LC[$k]}Stream\\n";\
+		echo "#define KEY_PARALLEL_STREAM ${TYPE_LC[$k]}ParallelStream\\n";\
 	fi;\
  fi)\
 $(if [[ "${CLASS[$v]}" != "" ]]; then\
@@ -146,6 +158,9 @@ $(if [[ "${CLASS[$v]}" != "" ]]; then\
 		echo "#define VALUES_PRIMITIVE 1\\n";\
 		if [[ "${CLASS[$v]}" != "Boolean" ]]; then\
 			echo "#define JDK_PRIMITIVE_VALUE_CONSUMER java.util.function.${TYPE_CAP[$wv]}Consumer\\n";\
+		fi;\
+		if [[ "${CLASS[$v]}" == "Integer" || "${CLASS[$v]}" == "Long" || "${CLASS[$v]}" == "Double" ]]; then\
+			echo "#define JDK_PRIMITIVE_VALUE_SPLITERATOR java.util.Spliterator.Of${TYPE_CAP[$v]}\\n";\
 		fi\
 	else\
 		echo "#define VALUES_REFERENCE 1\\n";\
@@ -268,6 +283,7 @@ fi)\
 "#define VALUE_SUPER_GENERIC <? super V>\n"\
 "#define VALUE_GENERIC_CAST (V)\n"\
 "#define VALUE_GENERIC_ARRAY_CAST (V[])\n"\
+"#define VALUE_GENERIC_BIG_ARRAY_CAST (V[][])\n"\
 "#define DEPRECATED_IF_VALUES_REFERENCE @Deprecated\n"\
 "#define DEPRECATED_IF_VALUES_PRIMITIVE\n"\
 "#define SUPPRESS_WARNINGS_VALUE_UNCHECKED @SuppressWarnings(\"unchecked\")\n"\
@@ -283,6 +299,7 @@ fi)\
 "#define VALUE_SUPER_GENERIC\n"\
 "#define VALUE_GENERIC_CAST\n"\
 "#define VALUE_GENERIC_ARRAY_CAST\n"\
+"#define VALUE_GENERIC_BIG_ARRAY_CAST\n"\
 "#define DEPRECATED_IF_VALUES_REFERENCE\n"\
 "#define DEPRECATED_IF_VALUES_PRIMITIVE @Deprecated\n"\
 "#define SUPPRESS_WARNINGS_VALUE_UNCHECKED\n"\
@@ -294,20 +311,24 @@ fi)\
 "#define KEY_VALUE_GENERIC <K,V>\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND <>\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC <? extends K, ? extends V>\n"\
+"#define KEY_VALUE_SUPER_GENERIC <? super K, ? super V>\n"\
 "#else\n"\
 "#define KEY_VALUE_GENERIC <K>\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND <>\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC <? extends K>\n"\
+"#define KEY_VALUE_SUPER_GENERIC <? super K>\n"\
 "#endif\n"\
 "#else\n"\
 "#if VALUES_REFERENCE\n"\
 "#define KEY_VALUE_GENERIC <V>\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND <>\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC <? extends V>\n"\
+"#define KEY_VALUE_SUPER_GENERIC <? super V>\n"\
 "#else\n"\
 "#define KEY_VALUE_GENERIC\n"\
 "#define KEY_VALUE_GENERIC_DIAMOND\n"\
 "#define KEY_VALUE_EXTENDS_GENERIC\n"\
+"#define KEY_VALUE_SUPER_GENERIC\n"\
 "#endif\n"\
 "#endif\n"\
 \
@@ -372,8 +393,11 @@ fi)\
 "#define VALUE_COLLECTION ${TYPE_CAP[$v]}Collection\n"\
 "#define VALUE_ARRAY_SET ${TYPE_CAP[$v]}ArraySet\n"\
 "#define VALUE_CONSUMER ${TYPE_STD[$v]}Consumer\n"\
+"#define KEY_VALUE_CONSUMER ${TYPE_CAP2[$k]}${TYPE_CAP2[$v]}Consumer\n"\
 "#define VALUE_ITERATOR ${TYPE_CAP2[$v]}Iterator\n"\
 "#define VALUE_LIST_ITERATOR ${TYPE_CAP2[$v]}ListIterator\n"\
+"#define VALUE_LIST ${TYPE_CAP[$v]}List\n"\
+"#define VALUE_LIST_GET get${TYPE_STD[$v]}\n"\
 \
 \
 "/* Abstract implementations (keys) */\n"\
@@ -406,6 +430,7 @@ fi)\
 \
 \
 "#define VALUE_ABSTRACT_COLLECTION Abstract${TYPE_CAP[$v]}Collection\n"\
+"#define VALUE_ABSTRACT_LIST Abstract${TYPE_CAP[$v]}List\n"\
 "#define VALUE_ABSTRACT_ITERATOR Abstract${TYPE_CAP2[$v]}Iterator\n"\
 "#define VALUE_ABSTRACT_BIDI_ITERATOR Abstract${TYPE_CAP2[$v]}BidirectionalIterator\n"\
 \
@@ -439,6 +464,7 @@ fi)\
 "#define VALUE_COLLECTIONS ${TYPE_CAP[$v]}Collections\n"\
 "#define VALUE_SETS ${TYPE_CAP[$v]}Sets\n"\
 "#define VALUE_ARRAYS ${TYPE_CAP2[$v]}Arrays\n"\
+"#define VALUE_BIG_ARRAYS ${TYPE_CAP2[$v]}BigArrays\n"\
 \
 \
 "/* Implementations */\n"\
@@ -450,7 +476,18 @@ fi)\
 "#define OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}${Linked}Open${Custom}HashMap\n"\
 "#define OPEN_HASH_BIG_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}${Linked}Open${Custom}HashBigMap\n"\
 "#define STRIPED_OPEN_HASH_MAP Striped${TYPE_CAP[$k]}2${TYPE_CAP[$v]}Open${Custom}HashMap\n"\
+"#define CONCURRENT_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}ConcurrentOpenHashMap\n"\
 "#define OPEN_DOUBLE_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}${Linked}Open${Custom}DoubleHashMap\n"\
+"#define ROBIN_HOOD_HASH_SET ${TYPE_CAP[$k]}RobinHoodHashSet\n"\
+"#define ROBIN_HOOD_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}RobinHoodHashMap\n"\
+"#define PACKED_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}PackedOpenHashMap\n"\
+"#define SWISS_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}Swiss${Custom}HashMap\n"\
+"#define OFF_HEAP_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}OffHeapHashMap\n"\
+"#define MAPPED_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}MappedOpenHashMap\n"\
+"#define LINKED_OPEN_HASH_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}LinkedOpenHashMap\n"\
+"#define BOUNDED_CACHE ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}BoundedCache\n"\
+"#define MULTIMAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}Multimap\n"\
+"#define COUNTING_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}CountingMap\n"\
 "#define ARRAY_SET ${TYPE_CAP[$k]}ArraySet\n"\
 "#define ARRAY_MAP ${TYPE_CAP[$k]}2${TYPE_CAP[$v]}ArrayMap\n"\
 "#define LINKED_OPEN_HASH_SET ${TYPE_CAP[$k]}LinkedOpenHashSet\n"\
@@ -538,6 +575,9 @@ fi)\
 "#define LOAD_KEYS load${TYPE_STD[$k]}s\n"\
 "#define LOAD_KEYS_BIG load${TYPE_STD[$k]}sBig\n"\
 "#define STORE_KEYS store${TYPE_STD[$k]}s\n"\
+"#define STORE_VALUES store${TYPE_STD[$v]}s\n"\
+"#define AS_KEY_BUFFER as${TYPE_STD[$k]}Buffer\n"\
+"#define AS_VALUE_BUFFER as${TYPE_STD[$v]}Buffer\n"\
 \
 \
 "/* Methods (values) */\n"\
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2002-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package it.unimi.dsi.fastutil;
+
+/** The policy used by a bounded cache (e.g., {@code Int2ObjectBoundedCache}) to choose the entry to evict.
+ *
+ * <p>Entries of a bounded cache are kept in a list: the entry at the head of the list is
+ * evicted when a new entry must be added to a full cache. The policies differ in where new entries are
+ * inserted and in how entries move when they are accessed.
+ */
+
+public enum EvictionPolicy {
+	/** Least recently used: new and accessed entries are moved to the tail of the list,
+	 * so the head is the least recently used entry. */
+	LRU,
+	/** Approximate least frequently used: new entries are inserted at the head of the list,
+	 * and each access moves an entry one position towards the tail (i.e., it swaps the entry with its
+	 * successor). Entries accessed often thus drift towards the tail, whereas entries that are not accessed are
+	 * pushed towards the head by the others, which makes the cache resistant to scans. */
+	LFU
+}
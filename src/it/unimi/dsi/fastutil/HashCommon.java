@@ -16,6 +16,10 @@
 
 package it.unimi.dsi.fastutil;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
 /** Common code for all hash-based classes. */
 
 public class HashCommon {
@@ -118,6 +122,48 @@ public class HashCommon {
 		return (x ^ x >>> 32) * INV_LONG_PHI;
 	}
 
+	/** The primes of XXH64. */
+	private static final long XXH_PRIME64_1 = 0x9E3779B185EBCA87L, XXH_PRIME64_2 = 0xC2B2AE3D27D4EB4FL, XXH_PRIME64_3 = 0x165667B19E3779F9L, XXH_PRIME64_4 = 0x85EBCA77C2B2AE63L, XXH_PRIME64_5 = 0x27D4EB2F165667C5L;
+
+	/** Returns the initial state of a word-at-a-time hash.
+	 *
+	 * <p>Word-at-a-time hashing follows the small-input path of <a href="https://cyan4973.github.io/xxHash/">XXH64</a>:
+	 * the state is initialized with this method, each 64-bit word of the input is fed using {@link #wordHashStep(long, long)} (a partial
+	 * last word must be padded with zeroes), and the result is obtained with {@link #wordHashFinish(long)}.
+	 *
+	 * @param length the length of the input, which must determine the number of words.
+	 * @return the initial state of the hash.
+	 */
+	public static long wordHashStart(final long length) {
+		return XXH_PRIME64_5 + length;
+	}
+
+	/** Feeds a 64-bit word to a word-at-a-time hash.
+	 *
+	 * @param h the current state of the hash.
+	 * @param w a word.
+	 * @return the new state of the hash.
+	 * @see #wordHashStart(long)
+	 */
+	public static long wordHashStep(final long h, final long w) {
+		return Long.rotateLeft(h ^ Long.rotateLeft(w * XXH_PRIME64_2, 31) * XXH_PRIME64_1, 27) * XXH_PRIME64_1 + XXH_PRIME64_4;
+	}
+
+	/** Completes a word-at-a-time hash, avalanching its state.
+	 *
+	 * @param h the current state of the hash.
+	 * @return a 32-bit hash value in which all bits depend on all bits of the input.
+	 * @see #wordHashStart(long)
+	 */
+	public static int wordHashFinish(long h) {
+		h ^= h >>> 33;
+		h *= XXH_PRIME64_2;
+		h ^= h >>> 29;
+		h *= XXH_PRIME64_3;
+		h ^= h >>> 32;
+		return (int)(h ^ h >>> 32);
+	}
+
 
 	/** Returns the hash code that would be returned by {@link Float#hashCode()}.
 	 *
@@ -231,4 +277,25 @@ public class HashCommon {
 	public static long bigArraySize(final long expected, final float f) {
 		return nextPowerOfTwo((long)Math.ceil(expected / f));
 	}
-}
\ No newline at end of file
+
+	/** Runs a given number of tasks, possibly in parallel, and waits for their completion.
+	 *
+	 * <p>This method is used by the bulk-loading methods of hash-based classes.
+	 *
+	 * @param pool a pool in which tasks will be run, or {@code null} to run them sequentially in the current thread.
+	 * @param tasks the number of tasks.
+	 * @param task the body of the tasks, which will be called once with each integer between 0 (inclusive) and {@code tasks} (exclusive).
+	 */
+	public static void invokeAll(final ForkJoinPool pool, final int tasks, final IntConsumer task) {
+		if (pool == null || tasks == 1) {
+			for(int i = 0; i < tasks; i++) task.accept(i);
+			return;
+		}
+		final ForkJoinTask<?>[] t = new ForkJoinTask<?>[tasks];
+		for(int i = 0; i < tasks; i++) {
+			final int j = i;
+			t[i] = pool.submit(() -> task.accept(j));
+		}
+		for(final ForkJoinTask<?> f : t) f.join();
+	}
+}
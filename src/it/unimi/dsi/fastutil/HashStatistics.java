@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2002-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package it.unimi.dsi.fastutil;
+
+/** Probe-length and clustering statistics of an open-addressing hash table.
+ *
+ * <p>Instances of this class are immutable snapshots returned by the {@code statistics()}
+ * method of linear-probing hash tables (e.g., {@code Int2IntOpenHashMap}). Probe lengths
+ * are computed by scanning the table, so taking a snapshot requires time proportional to the table size,
+ * but the table itself pays no cost when statistics are not requested.
+ *
+ * <p>The <em>probe length</em> of a successful lookup is the number of slots
+ * examined to find the key, that is, one plus the distance of the key from its
+ * home position. The probe length of an unsuccessful lookup is the number of slots examined
+ * before meeting an empty slot, including the latter; the average is computed
+ * assuming that home positions are uniformly distributed. A <em>cluster</em> is a maximal
+ * run of consecutive (modulo the table size) occupied slots. The key zero (or {@code null}),
+ * which is not stored in the table, is not considered in probe lengths.
+ *
+ * <p>Rehash counters are collected only after the table has been
+ * asked to do so (e.g., using {@code collectStatistics(true)}); otherwise, they are zero.
+ */
+
+public final class HashStatistics implements java.io.Serializable {
+	private static final long serialVersionUID = 0L;
+
+	/** A mutable holder for rehash counters. */
+	public static final class RehashRecorder {
+		private long count;
+		private long nanos;
+
+		/** Records a rehash.
+		 *
+		 * @param nanos the time spent rehashing, in nanoseconds.
+		 */
+		public void record(final long nanos) {
+			count++;
+			this.nanos += nanos;
+		}
+
+		/** Returns the number of recorded rehashes.
+		 *
+		 * @return the number of recorded rehashes.
+		 */
+		public long count() {
+			return count;
+		}
+
+		/** Returns the cumulative time spent rehashing.
+		 *
+		 * @return the cumulative time spent rehashing, in nanoseconds.
+		 */
+		public long nanos() {
+			return nanos;
+		}
+	}
+
+	/** Accumulates probe lengths during a scan of a linear-probing table.
+	 *
+	 * <p>Slots must be passed in decreasing order of position, modulo the table size, starting from an
+	 * empty slot (since the load factor is smaller than one, there is always one): in this
+	 * way, the length of the cluster following each slot is known when the slot is visited.
+	 */
+	public static final class Collector {
+		private long keys, hitSum, maxHit, missSum, maxMiss, slots, run, longestCluster;
+
+		/** Accounts for an empty slot. */
+		public void emptySlot() {
+			slots++;
+			run = 0;
+			missSum++;
+			if (maxMiss == 0) maxMiss = 1;
+		}
+
+		/** Accounts for an occupied slot.
+		 *
+		 * @param displacement the distance (modulo the table size) of the key in the slot from its home position.
+		 */
+		public void fullSlot(final long displacement) {
+			slots++;
+			keys++;
+			hitSum += displacement + 1;
+			maxHit = Math.max(maxHit, displacement + 1);
+			run++;
+			missSum += run + 1;
+			maxMiss = Math.max(maxMiss, run + 1);
+			longestCluster = Math.max(longestCluster, run);
+		}
+
+		/** Builds a statistics snapshot.
+		 *
+		 * @param size the number of keys in the table (including the key zero, if present).
+		 * @param maxFill the number of keys after which the table is enlarged.
+		 * @param recorder the rehash counters, or {@code null}.
+		 * @return a statistics snapshot.
+		 */
+		public HashStatistics build(final long size, final long maxFill, final RehashRecorder recorder) {
+			return new HashStatistics(size, slots, maxFill,
+					keys == 0 ? 0 : (double)hitSum / keys, maxHit,
+					slots == 0 ? 0 : (double)missSum / slots, maxMiss,
+					longestCluster,
+					recorder == null ? 0 : recorder.count(), recorder == null ? 0 : recorder.nanos());
+		}
+	}
+
+	private final long size;
+	private final long tableSize;
+	private final long maxFill;
+	private final double averageHitProbeLength;
+	private final long maxHitProbeLength;
+	private final double averageMissProbeLength;
+	private final long maxMissProbeLength;
+	private final long longestCluster;
+	private final long rehashCount;
+	private final long rehashNanos;
+
+	private HashStatistics(final long size, final long tableSize, final long maxFill, final double averageHitProbeLength, final long maxHitProbeLength, final double averageMissProbeLength, final long maxMissProbeLength, final long longestCluster, final long rehashCount, final long rehashNanos) {
+		this.size = size;
+		this.tableSize = tableSize;
+		this.maxFill = maxFill;
+		this.averageHitProbeLength = averageHitProbeLength;
+		this.maxHitProbeLength = maxHitProbeLength;
+		this.averageMissProbeLength = averageMissProbeLength;
+		this.maxMissProbeLength = maxMissProbeLength;
+		this.longestCluster = longestCluster;
+		this.rehashCount = rehashCount;
+		this.rehashNanos = rehashNanos;
+	}
+
+	/** Returns the number of keys in the table.
+	 *
+	 * @return the number of keys in the table (including the key zero, if present).
+	 */
+	public long size() {
+		return size;
+	}
+
+	/** Returns the number of slots of the table.
+	 *
+	 * @return the number of slots of the table.
+	 */
+	public long tableSize() {
+		return tableSize;
+	}
+
+	/** Returns the number of keys after which the table is enlarged.
+	 *
+	 * @return the number of keys after which the table is enlarged.
+	 */
+	public long maxFill() {
+		return maxFill;
+	}
+
+	/** Returns the fraction of occupied slots.
+	 *
+	 * @return {@link #size()} divided by {@link #tableSize()}.
+	 */
+	public double fill() {
+		return (double)size / tableSize;
+	}
+
+	/** Returns the fill of the table relative to its maximum fill.
+	 *
+	 * @return {@link #size()} divided by {@link #maxFill()}; the table is enlarged when this value exceeds one.
+	 */
+	public double relativeFill() {
+		return (double)size / maxFill;
+	}
+
+	/** Returns the average probe length of successful lookups.
+	 *
+	 * @return the average probe length of successful lookups (zero for an empty table).
+	 */
+	public double averageHitProbeLength() {
+		return averageHitProbeLength;
+	}
+
+	/** Returns the maximum probe length of successful lookups.
+	 *
+	 * @return the maximum probe length of successful lookups (zero for an empty table).
+	 */
+	public long maxHitProbeLength() {
+		return maxHitProbeLength;
+	}
+
+	/** Returns the average probe length of unsuccessful lookups.
+	 *
+	 * @return the average probe length of unsuccessful lookups.
+	 */
+	public double averageMissProbeLength() {
+		return averageMissProbeLength;
+	}
+
+	/** Returns the maximum probe length of unsuccessful lookups.
+	 *
+	 * @return the maximum probe length of unsuccessful lookups, that is, one plus the {@linkplain #longestCluster() longest cluster}.
+	 */
+	public long maxMissProbeLength() {
+		return maxMissProbeLength;
+	}
+
+	/** Returns the length of the longest cluster.
+	 *
+	 * @return the length of the longest run of consecutive occupied slots.
+	 */
+	public long longestCluster() {
+		return longestCluster;
+	}
+
+	/** Returns the number of rehashes recorded.
+	 *
+	 * @return the number of rehashes recorded since statistics collection was enabled.
+	 */
+	public long rehashCount() {
+		return rehashCount;
+	}
+
+	/** Returns the cumulative time spent rehashing.
+	 *
+	 * @return the cumulative time spent rehashing since statistics collection was enabled, in nanoseconds.
+	 */
+	public long rehashNanos() {
+		return rehashNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "[size: " + size + ", table size: " + tableSize + ", max fill: " + maxFill +
+				", average hit probe length: " + averageHitProbeLength + ", max hit probe length: " + maxHitProbeLength +
+				", average miss probe length: " + averageMissProbeLength + ", max miss probe length: " + maxMissProbeLength +
+				", longest cluster: " + longestCluster + ", rehashes: " + rehashCount + ", rehash time: " + rehashNanos + "ns]";
+	}
+}
@@ -16,12 +16,17 @@ package it.unimi.dsi.fastutil.bytes;
  * limitations under the License.
  */
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Random;
 
 import org.junit.Test;
 
+import it.unimi.dsi.fastutil.objects.Object2IntOpenCustomHashMap;
+
 public class ByteArraysTest {
 
 	private static byte[] castIdentity(int n) {
@@ -155,4 +160,44 @@ public class ByteArraysTest {
 		ByteArrays.radixSort(d);
 		for(int i = d[0].length - 1; i-- != 0;) assertTrue(Integer.toString(i) + ": <" + d[0][i] + ", " + d[1][i] + ">, <" + d[0][i + 1] + ", " +  d[1][i + 1] + ">", d[0][i] < d[0][i + 1] || d[0][i] == d[0][i + 1] && d[1][i] <= d[1][i + 1]);
 	}
+
+	@Test
+	public void testFastHashCode() {
+		final Random random = new Random(0);
+		final byte[] a = new byte[100];
+		random.nextBytes(a);
+		for(int from = 0; from < 20; from++)
+			for(int to = from; to <= 40; to++) {
+				final byte[] b = java.util.Arrays.copyOfRange(a, from, to);
+				assertEquals(ByteArrays.fastHashCode(b), ByteArrays.fastHashCode(a, from, to));
+				assertTrue(ByteArrays.equals(a, from, to, b, 0, b.length));
+			}
+		// Trailing zeroes must change the hash.
+		assertNotEquals(ByteArrays.fastHashCode(new byte[] { 1 }), ByteArrays.fastHashCode(new byte[] { 1, 0 }));
+		assertNotEquals(ByteArrays.fastHashCode(new byte[0]), ByteArrays.fastHashCode(new byte[8]));
+		assertFalse(ByteArrays.equals(a, 0, 10, a, 1, 11));
+		assertEquals(0, ByteArrays.FAST_HASH_STRATEGY.hashCode(null));
+		assertTrue(ByteArrays.FAST_HASH_STRATEGY.equals(null, null));
+	}
+
+	@Test
+	public void testFastHashStrategy() {
+		final Object2IntOpenCustomHashMap<byte[]> m = new Object2IntOpenCustomHashMap<>(ByteArrays.FAST_HASH_STRATEGY);
+		// Keys differing only in their high bytes: the lower bits of their hash must nonetheless be well distributed.
+		final int[] count = new int[16];
+		for(int i = 0; i < 16384; i++) {
+			final byte[] k = new byte[16];
+			k[14] = (byte)i;
+			k[15] = (byte)(i >>> 8);
+			m.put(k, i);
+			count[ByteArrays.fastHashCode(k) & 15]++;
+		}
+		for(final int c : count) assertTrue(Integer.toString(c), c > 800 && c < 1250);
+		for(int i = 0; i < 16384; i++) {
+			final byte[] k = new byte[16];
+			k[14] = (byte)i;
+			k[15] = (byte)(i >>> 8);
+			assertEquals(i, m.getInt(k));
+		}
+	}
 }
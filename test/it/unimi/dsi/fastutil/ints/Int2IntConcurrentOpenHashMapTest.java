@@ -0,0 +1,155 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class Int2IntConcurrentOpenHashMapTest {
+
+	@Test
+	public void testBasic() {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap();
+		m.defaultReturnValue(-1);
+		assertEquals(-1, m.get(0));
+		assertFalse(m.containsKey(0));
+		assertEquals(-1, m.put(0, 10));
+		assertEquals(-1, m.put(1, 11));
+		assertEquals(10, m.put(0, 20));
+		assertEquals(20, m.get(0));
+		assertEquals(11, m.get(1));
+		assertEquals(11, m.putIfAbsent(1, 12));
+		assertEquals(-1, m.putIfAbsent(2, 12));
+		assertEquals(3, m.size());
+		assertEquals(5, m.getOrDefault(3, 5));
+		assertTrue(m.containsKey(0));
+		assertTrue(m.containsKey(2));
+		m.clear();
+		assertEquals(0, m.size());
+		assertTrue(m.isEmpty());
+		assertFalse(m.containsKey(0));
+	}
+
+	@Test
+	public void testAddTo() {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap();
+		assertEquals(0, m.addTo(0, 2));
+		assertEquals(2, m.addTo(0, 3));
+		assertEquals(5, m.get(0));
+		m.defaultReturnValue(100);
+		assertEquals(100, m.addTo(7, 1));
+		assertEquals(101, m.get(7));
+	}
+
+	@Test
+	public void testResize() {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap(0);
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		for(int i = -10000; i < 10000; i++) {
+			m.put(i * 31, i);
+			t.put(i * 31, i);
+		}
+		assertEquals(t.size(), m.size());
+		assertEquals(t, m);
+		assertEquals(m, t);
+		for(int i = -10000; i < 10000; i++) assertEquals(i, m.get(i * 31));
+	}
+
+	@Test
+	public void testConcurrentAddTo() throws InterruptedException {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap(0);
+		final int threads = 8, keys = 20000, rounds = 5;
+		final Thread[] thread = new Thread[threads];
+		for(int i = 0; i < threads; i++) {
+			final int offset = i;
+			thread[i] = new Thread(() -> {
+				for(int r = 0; r < rounds; r++)
+					for(int k = 0; k < keys; k++) m.addTo((k + offset * 997) % keys, 1);
+			});
+		}
+		for(final Thread t: thread) t.start();
+		for(final Thread t: thread) t.join();
+		assertEquals(keys, m.size());
+		for(int k = 0; k < keys; k++) assertEquals(threads * rounds, m.get(k));
+	}
+
+	@Test
+	public void testConcurrentPut() throws InterruptedException {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap(0);
+		final int threads = 8, keys = 50000;
+		final Thread[] thread = new Thread[threads];
+		for(int i = 0; i < threads; i++) {
+			final int offset = i;
+			thread[i] = new Thread(() -> {
+				for(int k = offset; k < keys * threads; k += threads) {
+					m.put(k, -k);
+					if (m.get(k) != -k) throw new AssertionError(Integer.toString(k));
+				}
+			});
+		}
+		for(final Thread t: thread) t.start();
+		for(final Thread t: thread) t.join();
+		assertEquals(keys * threads, m.size());
+		int count = 0;
+		for(final Int2IntMap.Entry e: m.int2IntEntrySet()) {
+			assertEquals(-e.getIntKey(), e.getIntValue());
+			count++;
+		}
+		assertEquals(keys * threads, count);
+	}
+
+	@Test
+	public void testEntrySetValue() {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap();
+		m.put(1, 1);
+		m.put(2, 2);
+		for(final Int2IntMap.Entry e: m.int2IntEntrySet()) e.setValue(e.getIntValue() * 10);
+		assertEquals(10, m.get(1));
+		assertEquals(20, m.get(2));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRemove() {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap();
+		m.put(1, 1);
+		m.remove(1);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntConcurrentOpenHashMap m = new Int2IntConcurrentOpenHashMap();
+		for(int i = 0; i < 1000; i++) m.put(i, i * i);
+		m.defaultReturnValue(-1);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Int2IntConcurrentOpenHashMap n = (Int2IntConcurrentOpenHashMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		assertEquals(-1, n.defaultReturnValue());
+		assertEquals(-1, n.get(1000));
+	}
+}
@@ -199,4 +199,30 @@ public class Int2IntLinkedOpenHashMapTest {
 			}
 		});
 	}
+
+	@Test
+	public void testPrimitiveForEachOrder() {
+		final int[] a = new int[1000];
+		for(int i = 0; i < 1000; i++) a[i] = a.length - 1 - i;
+		final Int2IntLinkedOpenHashMap m = new Int2IntLinkedOpenHashMap(a, a);
+		m.forEachPrimitive(new IntIntConsumer() {
+			int i = a.length;
+			@Override
+			public void accept(int k, int v) {
+				assertEquals(--i, k);
+				assertEquals(k, v);
+			}
+		});
+		final IntBidirectionalIterator keys = m.keySet().iterator();
+		assertEquals(999, keys.nextInt());
+		keys.forEachRemaining(new java.util.function.IntConsumer() {
+			int i = a.length - 1;
+			@Override
+			public void accept(int k) {
+				assertEquals(--i, k);
+			}
+		});
+		assertFalse(keys.hasNext());
+		assertEquals(0, keys.previousInt());
+	}
 }
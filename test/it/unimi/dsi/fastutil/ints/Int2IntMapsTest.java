@@ -19,10 +19,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
@@ -74,4 +76,70 @@ public class Int2IntMapsTest {
 		Int2IntMaps.fastIterable(m).forEach(s::add);
 		assertEquals(1, s.size()); // Should be always the same entry, mutated
 	}
+
+	@Test
+	public void testReadCopyUpdate() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap(new int[] { 1, 2 }, new int[] { 10, 20 });
+		m.defaultReturnValue(-1);
+		final Int2IntMaps.ReadCopyUpdateMap r = Int2IntMaps.readCopyUpdate(m);
+		m.put(3, 30);
+		assertEquals(2, r.size());
+		assertEquals(-1, r.get(3));
+
+		final Int2IntMap before = r.snapshot();
+		r.update(b -> { b.put(3, 30); b.remove(1); });
+		assertEquals(m.size() - 1, r.size());
+		assertEquals(30, r.get(3));
+		assertFalse(r.containsKey(1));
+		assertEquals(10, before.get(1));
+		assertFalse(before.containsKey(3));
+
+		r.defaultReturnValue(0);
+		assertEquals(0, r.get(1));
+		assertEquals(new Int2IntOpenHashMap(new int[] { 2, 3 }, new int[] { 20, 30 }), r);
+	}
+
+	@Test
+	public void testReadCopyUpdateFailedUpdate() {
+		final Int2IntMaps.ReadCopyUpdateMap r = Int2IntMaps.readCopyUpdate(new Int2IntOpenHashMap(new int[] { 1 }, new int[] { 10 }));
+		r.defaultReturnValue(-1);
+		try {
+			r.update(b -> { b.put(2, 20); throw new IllegalStateException(); });
+		}
+		catch(final IllegalStateException e) {}
+		assertFalse(r.containsKey(2));
+		r.update(b -> b.put(3, 30));
+		assertEquals(new Int2IntOpenHashMap(new int[] { 1, 3 }, new int[] { 10, 30 }), r);
+		assertEquals(-1, r.get(2));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadCopyUpdateIsReadOnly() {
+		Int2IntMaps.readCopyUpdate(Int2IntMaps.EMPTY_MAP).put(0, 0);
+	}
+
+	@Test
+	public void testReadCopyUpdateConcurrent() throws InterruptedException {
+		final Int2IntMaps.ReadCopyUpdateMap r = Int2IntMaps.readCopyUpdate(Int2IntMaps.EMPTY_MAP);
+		final AtomicBoolean done = new AtomicBoolean(), consistent = new AtomicBoolean(true);
+		final Thread reader = new Thread(() -> {
+			while(! done.get()) {
+				// All values of a snapshot are equal, and there is one key per value.
+				final Int2IntMap s = r.snapshot();
+				for(final int v : s.values()) if (v != s.size()) consistent.set(false);
+			}
+		});
+		reader.start();
+		for(int i = 1; i <= 1000; i++) {
+			final int version = i;
+			r.update(b -> {
+				b.put(version, version);
+				for(int k = 1; k <= version; k++) b.put(k, version);
+			});
+		}
+		done.set(true);
+		reader.join();
+		assertTrue(consistent.get());
+		assertEquals(1000, r.size());
+	}
 }
@@ -0,0 +1,113 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleMultimap;
+
+public class Int2IntMultimapTest {
+
+	@Test
+	public void testAgainstMapOfLists() {
+		final Int2IntMultimap m = new Int2IntMultimap();
+		final Int2ObjectOpenHashMap<IntArrayList> t = new Int2ObjectOpenHashMap<>();
+		final Random r = new Random(0);
+		for(int round = 0; round < 3; round++) {
+			for(int i = 0; i < 10000; i++) {
+				final int k = r.nextInt(1000) - 500, v = r.nextInt();
+				m.put(k, v);
+				t.computeIfAbsent(k, x -> new IntArrayList()).add(v);
+			}
+			// Compaction must preserve insertion order, also across rounds
+			assertEquals(t.size(), m.numberOfKeys());
+			assertEquals(10000 * (round + 1), m.size());
+			for(final int k : t.keySet()) {
+				assertEquals(t.get(k), m.get(k));
+				assertEquals(t.get(k).size(), m.count(k));
+			}
+			assertFalse(m.containsKey(1000));
+			assertTrue(m.get(1000).isEmpty());
+			assertEquals(0, m.count(1000));
+		}
+		final int[] keys = m.keys();
+		for(int i = 1; i < keys.length; i++) assertTrue(keys[i - 1] < keys[i]);
+	}
+
+	@Test
+	public void testViews() {
+		final Int2IntMultimap m = new Int2IntMultimap(0);
+		m.putAll(3, new int[] { 5, 6, 7 });
+		m.put(1, 2);
+		m.put(0, 0);
+		final IntList l = m.get(3);
+		assertArrayEquals(new int[] { 5, 6, 7 }, l.toIntArray());
+		final int[] a = new int[2];
+		l.getElements(1, a, 0, 2);
+		assertArrayEquals(new int[] { 6, 7 }, a);
+		m.put(3, 8);
+		assertEquals(3, l.size());
+		assertEquals(4, m.get(3).size());
+		assertEquals("{0=>[0], 1=>[2], 3=>[5, 6, 7, 8]}", m.toString());
+		try {
+			l.add(1);
+			assertTrue(false);
+		}
+		catch(final UnsupportedOperationException e) {}
+	}
+
+	@Test
+	public void testForEach() {
+		final Int2IntMultimap m = new Int2IntMultimap();
+		for(int i = 0; i < 100; i++) m.put(i % 10, i);
+		final long[] sum = new long[2];
+		m.forEach((int k, int v) -> { sum[0] += k; sum[1] += v; });
+		assertEquals(450, sum[0]);
+		assertEquals(4950, sum[1]);
+		m.clear();
+		assertTrue(m.isEmpty());
+		assertEquals(0, m.numberOfKeys());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Long2DoubleMultimap m = new Long2DoubleMultimap();
+		for(int i = 0; i < 1000; i++) m.put(-i % 17, i / 2.);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Long2DoubleMultimap n = (Long2DoubleMultimap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m.toString(), n.toString());
+		for(long k = -16; k <= 0; k++) assertEquals(m.get(k), n.get(k));
+		n.put(1, 1);
+		assertEquals(m.size() + 1, n.size());
+		assertEquals(m.size(), m.clone().size());
+	}
+}
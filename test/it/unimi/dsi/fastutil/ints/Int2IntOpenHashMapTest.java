@@ -21,9 +21,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.Test;
 
+import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.HashStatistics;
+import it.unimi.dsi.fastutil.io.BinIO;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
 public class Int2IntOpenHashMapTest {
@@ -185,4 +201,377 @@ public class Int2IntOpenHashMapTest {
 		s.trim(2);
 		assertEquals(8, s.n);
 	}
+
+	@Test
+	public void testStatistics() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap(4, .5f);
+		assertEquals(8, m.n);
+		// Keys whose home positions are 6, 7 and 6: they form a cluster in slots 6, 7 and 0
+		m.put(HashCommon.invMix(6), 6);
+		m.put(HashCommon.invMix(7), 7);
+		m.put(HashCommon.invMix(6 + 8), 14);
+		m.put(0, 0);
+		HashStatistics s = m.statistics();
+		assertEquals(4, s.size());
+		assertEquals(8, s.tableSize());
+		assertEquals(4, s.maxFill());
+		assertEquals(1, s.relativeFill(), 0);
+		assertEquals(5. / 3, s.averageHitProbeLength(), 1E-9);
+		assertEquals(3, s.maxHitProbeLength());
+		assertEquals(14. / 8, s.averageMissProbeLength(), 1E-9);
+		assertEquals(4, s.maxMissProbeLength());
+		assertEquals(3, s.longestCluster());
+		assertEquals(0, s.rehashCount());
+
+		m.collectStatistics(true);
+		for(int i = 0; i < 1000; i++) m.put(i, i);
+		s = m.statistics();
+		assertEquals(m.size(), s.size());
+		assertTrue(s.rehashCount() > 0);
+		assertTrue(s.rehashNanos() >= 0);
+		assertEquals(s.longestCluster() + 1, s.maxMissProbeLength());
+		assertTrue(s.maxHitProbeLength() <= s.longestCluster());
+		m.collectStatistics(false);
+		assertEquals(0, m.statistics().rehashCount());
+	}
+
+	@Test
+	public void testBatchedMethods() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		m.defaultReturnValue(-1);
+		t.defaultReturnValue(-1);
+		final Random r = new Random(0);
+		final int[] keys = new int[1000], incr = new int[1000];
+		for(int round = 0; round < 20; round++) {
+			// Small keys, so that there are repetitions within a batch; the key zero appears, too
+			for(int i = 0; i < keys.length; i++) {
+				keys[i] = r.nextInt(2000) - 1000;
+				incr[i] = r.nextInt(10);
+			}
+			// Insertions within a batch will cause rehashes
+			m.addTo(keys, 10, 990, incr);
+			for(int i = 10; i < 990; i++) t.addTo(keys[i], incr[i]);
+			assertEquals(t, m);
+		}
+
+		final int[] out = new int[keys.length];
+		final boolean[] contained = new boolean[keys.length];
+		for(int i = 0; i < keys.length; i++) keys[i] = r.nextInt(4000) - 2000;
+		m.getAll(keys, out);
+		m.containsAll(keys, contained);
+		for(int i = 0; i < keys.length; i++) {
+			assertEquals(t.get(keys[i]), out[i]);
+			assertEquals(t.containsKey(keys[i]), contained[i]);
+		}
+		Arrays.fill(out, 42);
+		m.getAll(keys, 3, 5, out);
+		assertEquals(42, out[2]);
+		assertEquals(t.get(keys[3]), out[3]);
+		assertEquals(t.get(keys[4]), out[4]);
+		assertEquals(42, out[5]);
+	}
+
+	@Test
+	public void testBulkLoad() {
+		final Random r = new Random(0);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for(final int size : new int[] { 0, 1, 1000, 300000 }) {
+				for(final float f : new float[] { .5f, .75f, .99f }) {
+					// Many duplicates (last value wins) and the key zero.
+					final int[] k = new int[size], v = new int[size];
+					for(int i = 0; i < size; i++) {
+						k[i] = r.nextInt(size / 2 + 1) - size / 4;
+						v[i] = r.nextInt();
+					}
+					final Int2IntOpenHashMap m = new Int2IntOpenHashMap(k, v, f);
+					final Int2IntOpenHashMap s = Int2IntOpenHashMap.bulkLoad(k, v, f);
+					final Int2IntOpenHashMap p = Int2IntOpenHashMap.parallelBulkLoad(k, v, f, pool);
+					assertEquals(m, s);
+					assertEquals(m, p);
+					assertEquals(m.size(), p.size());
+					for(int i = 0; i < size; i += 2) {
+						assertEquals(m.remove(k[i]), p.remove(k[i]));
+						assertEquals(m.put(i, i), p.put(i, i));
+					}
+					assertEquals(m, p);
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBulkLoadDifferentLengths() {
+		Int2IntOpenHashMap.bulkLoad(new int[2], new int[1], .75f);
+	}
+
+	@Test
+	public void testSerializationSparseTable() throws IOException, ClassNotFoundException {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap(100000);
+		for(int i = 0; i < 10; i++) m.put(i, i);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		assertTrue(store.size() < 1000);
+		final Int2IntOpenHashMap n = (Int2IntOpenHashMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		assertEquals(HashCommon.arraySize(10, Hash.DEFAULT_LOAD_FACTOR), n.n);
+	}
+
+	@Test
+	public void testStoreTable() throws IOException {
+		final Random r = new Random(0);
+		for(final int size : new int[] { 0, 1, 100000 }) {
+			final Int2IntOpenHashMap m = new Int2IntOpenHashMap(16, .5f);
+			for(int i = 0; i < size; i++) m.put(r.nextInt(), r.nextInt());
+			if (size > 0) m.put(0, 42);
+			final ByteArrayOutputStream store = new ByteArrayOutputStream();
+			m.storeTable(Channels.newChannel(store));
+			final byte[] a = store.toByteArray();
+			Int2IntOpenHashMap n = Int2IntOpenHashMap.loadTable(Channels.newChannel(new ByteArrayInputStream(a)));
+			assertEquals(m, n);
+			assertEquals(m.n, n.n);
+			assertEquals(.5f, n.f, 0);
+
+			// A different hash fingerprint forces reinsertion.
+			final int fingerprint = HashCommon.mix(0x5F3759DF);
+			int p = 0;
+			while (ByteBuffer.wrap(a, p, Integer.BYTES).getInt() != fingerprint) p++;
+			a[p] ^= 1;
+			n = Int2IntOpenHashMap.loadTable(Channels.newChannel(new ByteArrayInputStream(a)));
+			assertEquals(m, n);
+			for(final int k : m.keySet()) assertEquals(m.get(k), n.get(k));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testLoadTableWrongType() throws IOException {
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		new Int2IntOpenHashMap().storeTable(Channels.newChannel(store));
+		Long2LongOpenHashMap.loadTable(Channels.newChannel(new ByteArrayInputStream(store.toByteArray())));
+	}
+
+	@Test
+	public void testBinIOStoreMap() throws IOException {
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		for(int i = 0; i < 1000; i++) m.put(i * 7, i);
+		BinIO.storeMap(m, file);
+		assertEquals(m, BinIO.loadInt2IntMap(file));
+		final Long2LongOpenHashMap l = new Long2LongOpenHashMap();
+		for(long i = 0; i < 1000; i++) l.put(i << 32, i);
+		BinIO.storeMap(l, file.toString());
+		assertEquals(l, BinIO.loadLong2LongMap(file.toString()));
+	}
+
+	@Test
+	public void testIncrementalRehash() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		m.defaultReturnValue(-1);
+		t.defaultReturnValue(-1);
+		final Random r = new Random(0);
+		for(int i = 0; i < 300000; i++) {
+			final int k = r.nextInt(50000) - 25000, v = r.nextInt();
+			switch(r.nextInt(8)) {
+			case 0: case 1: case 2:
+				assertEquals(t.put(k, v), m.put(k, v));
+				break;
+			case 3:
+				assertEquals(t.addTo(k, v), m.addTo(k, v));
+				break;
+			case 4:
+				assertEquals(t.remove(k), m.remove(k));
+				break;
+			case 5:
+				assertEquals(t.remove(k, v), m.remove(k, v));
+				assertEquals(t.putIfAbsent(k, v), m.putIfAbsent(k, v));
+				break;
+			default:
+				assertEquals(t.get(k), m.get(k));
+				assertEquals(t.containsKey(k), m.containsKey(k));
+				assertEquals(t.getOrDefault(k, 1), m.getOrDefault(k, 1));
+			}
+			assertEquals(t.size(), m.size());
+			if (i % 10000 == 0) {
+				assertEquals(t.containsValue(v), m.containsValue(v));
+				final int[] keys = { k, k + 1, 0, -k }, out = new int[4], expected = new int[4];
+				t.getAll(keys, expected);
+				m.getAll(keys, out);
+				assertTrue(Arrays.equals(expected, out));
+			}
+		}
+		assertEquals(t, m);
+		assertEquals(m, t);
+		assertEquals(t.hashCode(), m.hashCode());
+	}
+
+	@Test
+	public void testIncrementalRehashBatchedAddTo() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		final java.util.HashMap<Integer, Integer> t = new java.util.HashMap<>();
+		m.incrementalRehash(true);
+		final Random r = new Random(0);
+		for(int round = 0; round < 200; round++) {
+			final int length = r.nextInt(200);
+			final int[] keys = new int[length], incr = new int[length];
+			for(int i = 0; i < length; i++) {
+				keys[i] = r.nextInt(10000);
+				incr[i] = r.nextInt(100);
+				t.merge(Integer.valueOf(keys[i]), Integer.valueOf(incr[i]), Integer::sum);
+			}
+			m.addTo(keys, incr);
+			assertEquals(t.size(), m.size());
+		}
+		assertEquals(t, m);
+	}
+
+	@Test
+	public void testIncrementalRehashBatchedAddToBoundsWork() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		int size = 0;
+		while (m.rehashKey == null || size < 50000) m.put(++size, size);
+		final int[] keys = new int[64], incr = new int[64];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = i + 1;
+			incr[i] = 1;
+		}
+		m.addTo(keys, incr);
+		// A batch must not complete the pending migration in one go.
+		assertTrue(m.rehashKey != null);
+		for(int i = 1; i <= size; i++) assertEquals(i <= keys.length ? i + 1 : i, m.get(i));
+	}
+
+	@Test
+	public void testIncrementalRehashEntrySet() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		int size = 0;
+		while (m.rehashKey == null) m.put(++size, size);
+		// Lookups do not migrate entries, and must find the entries still in the old table.
+		for(int i = 1; i <= size; i++) {
+			assertTrue(m.int2IntEntrySet().contains(new AbstractInt2IntMap.BasicEntry(i, i)));
+			assertFalse(m.int2IntEntrySet().contains(new AbstractInt2IntMap.BasicEntry(i, i + 1)));
+		}
+		assertTrue(m.rehashKey != null);
+		for(int i = 1; i <= size; i++) {
+			assertFalse(m.int2IntEntrySet().remove(new AbstractInt2IntMap.BasicEntry(i, i + 1)));
+			assertTrue(m.int2IntEntrySet().remove(new AbstractInt2IntMap.BasicEntry(i, i)));
+			assertEquals(size - i, m.size());
+		}
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testIncrementalRehashBoundsWork() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		for(int i = 1; i <= 1 << 20; i++) {
+			final int n = m.n;
+			final boolean migrating = m.rehashKey != null;
+			m.put(i, i);
+			// Migration must complete well before the table must be enlarged again.
+			if (m.n != n) assertFalse(migrating);
+		}
+		for(int i = 1; i <= 1 << 20; i++) assertEquals(i, m.get(i));
+		m.incrementalRehash(false);
+		assertEquals(null, m.rehashKey);
+		assertEquals(1 << 20, m.size());
+	}
+
+	@Test
+	public void testAutoShrink() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap(1 << 16);
+		final int n = m.n;
+		for(int i = 0; i < 1 << 16; i++) m.put(i, i);
+		for(int i = 0; i < (1 << 16) - 100; i++) m.remove(i);
+		// The default policy never shrinks below the construction-time size.
+		assertEquals(n, m.n);
+
+		m.autoShrink(1 / 8f);
+		m.remove((1 << 16) - 1);
+		assertTrue(m.n < n);
+		// Hysteresis: after shrinking, half of the entries must be removed before shrinking again.
+		final int shrunk = m.n;
+		for(int i = (1 << 16) - 100; i < (1 << 16) - 60; i++) m.remove(i);
+		assertEquals(shrunk, m.n);
+		for(int i = (1 << 16) - 60; i < (1 << 16) - 1; i++) assertEquals(i, m.get(i));
+
+		m.clear();
+		assertEquals(Hash.DEFAULT_INITIAL_SIZE, m.n);
+		m.put(1, 1);
+		assertEquals(1, m.get(1));
+	}
+
+	@Test
+	public void testAutoShrinkIncremental() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		m.autoShrink(1 / 16f);
+		for(int i = 1; i <= 1 << 20; i++) m.put(i, i);
+		for(int i = 1; i <= 1 << 20; i++) {
+			final int n = m.n;
+			final boolean migrating = m.rehashKey != null;
+			m.remove(i);
+			// Migration to a smaller table must complete before the table must be shrunk again.
+			if (m.n != n) assertFalse(migrating);
+			if ((i & 0xFFFF) == 0 && i < 1 << 20) assertEquals(i + 1, m.get(i + 1));
+		}
+		assertTrue(m.isEmpty());
+		assertEquals(Hash.DEFAULT_INITIAL_SIZE, m.n);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAutoShrinkTooHigh() {
+		new Int2IntOpenHashMap().autoShrink(.25f);
+	}
+
+	@Test
+	public void testPrimitiveForEach() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		m.incrementalRehash(true);
+		for(int i = 0; i < 10000; i++) m.put(i * 31, i);
+		final long[] sum = new long[2];
+		final IntIntConsumer consumer = (k, v) -> { sum[0] += k; sum[1] += v; };
+		m.forEachPrimitive(consumer);
+		assertEquals(31L * 9999 * 10000 / 2, sum[0]);
+		assertEquals(9999L * 10000 / 2, sum[1]);
+
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		m.forEachPrimitive((int k, int v) -> t.put(k, v));
+		assertEquals(m, t);
+		t.clear();
+		Int2IntMaps.synchronize(m).forEachPrimitive((int k, int v) -> t.put(k, v));
+		assertEquals(m, t);
+	}
+
+	@Test
+	public void testForEachRemaining() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		for(int i = 0; i < 1000; i++) m.put(i, -i);
+		final IntIterator keys = m.keySet().iterator();
+		final IntOpenHashSet seen = new IntOpenHashSet();
+		for(int i = 0; i < 10; i++) seen.add(keys.nextInt());
+		keys.forEachRemaining((java.util.function.IntConsumer)seen::add);
+		assertFalse(keys.hasNext());
+		assertEquals(m.keySet(), seen);
+		keys.remove();
+		assertEquals(999, m.size());
+
+		final long[] sum = new long[1];
+		m.values().iterator().forEachRemaining((java.util.function.IntConsumer)v -> sum[0] += v);
+		final it.unimi.dsi.fastutil.objects.ObjectIterator<Int2IntMap.Entry> entries = m.int2IntEntrySet().fastIterator();
+		entries.next();
+		entries.forEachRemaining(e -> sum[0] -= e.getIntValue());
+		assertFalse(entries.hasNext());
+		assertEquals(m.values().iterator().nextInt(), sum[0]);
+	}
 }
@@ -0,0 +1,182 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Int2IntPackedOpenHashMapTest {
+
+	@Test
+	public void testAgainstOpenHashMap() {
+		for(final float f : new float[] { .5f, .75f, .9f }) {
+			final Int2IntPackedOpenHashMap m = new Int2IntPackedOpenHashMap(16, f);
+			final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+			m.defaultReturnValue(-1);
+			t.defaultReturnValue(-1);
+			final Random r = new Random(0);
+			for(int i = 0; i < 100000; i++) {
+				// Negative values check that the value bits do not leak into the key half.
+				final int k = r.nextInt(10000) - 5000, v = r.nextInt();
+				switch(r.nextInt(5)) {
+				case 0: case 1:
+					assertEquals(t.put(k, v), m.put(k, v));
+					break;
+				case 2:
+					assertEquals(t.remove(k), m.remove(k));
+					break;
+				case 3:
+					assertEquals(t.addTo(k, v), m.addTo(k, v));
+					break;
+				default:
+					assertEquals(t.get(k), m.get(k));
+					assertEquals(t.containsKey(k), m.containsKey(k));
+				}
+			}
+			assertEquals(t.size(), m.size());
+			assertEquals(t, m);
+			assertEquals(m, t);
+			assertEquals(t.hashCode(), m.hashCode());
+		}
+	}
+
+	@Test
+	public void testFloatValues() {
+		final Int2FloatPackedOpenHashMap m = new Int2FloatPackedOpenHashMap();
+		final Int2FloatOpenHashMap t = new Int2FloatOpenHashMap();
+		final Random r = new Random(0);
+		for(int i = 0; i < 10000; i++) {
+			final int k = r.nextInt(1000) - 500;
+			final float v = r.nextFloat() - .5f;
+			assertEquals(t.addTo(k, v), m.addTo(k, v), 0);
+		}
+		m.put(1, Float.NaN);
+		t.put(1, Float.NaN);
+		m.put(2, -0f);
+		t.put(2, -0f);
+		assertEquals(t, m);
+		assertEquals(t.hashCode(), m.hashCode());
+		assertTrue(m.containsValue(Float.NaN));
+		assertEquals(Float.floatToIntBits(-0f), Float.floatToIntBits(m.get(2)));
+	}
+
+	@Test
+	public void testFastIterator() {
+		final Int2IntPackedOpenHashMap m = new Int2IntPackedOpenHashMap();
+		for(int i = 0; i < 1000; i++) m.put(i, -i);
+		int count = 0;
+		for(final ObjectIterator<Int2IntMap.Entry> i = m.int2IntEntrySet().fastIterator(); i.hasNext();) {
+			final Int2IntMap.Entry e = i.next();
+			assertEquals(-e.getIntKey(), e.getIntValue());
+			e.setValue(e.getIntKey());
+			count++;
+		}
+		assertEquals(1000, count);
+		for(int i = 0; i < 1000; i++) assertEquals(i, m.get(i));
+		final int[] sum = new int[1];
+		m.forEachPrimitive((k, v) -> sum[0] += k - v);
+		assertEquals(0, sum[0]);
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Int2IntPackedOpenHashMap m = new Int2IntPackedOpenHashMap(16, .9f);
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		final Random r = new Random(0);
+		for(int i = 0; i < 10000; i++) {
+			final int k = r.nextInt();
+			m.put(k, i);
+			t.put(k, i);
+		}
+		m.put(0, -1);
+		t.put(0, -1);
+		for(final ObjectIterator<Int2IntMap.Entry> i = m.int2IntEntrySet().iterator(); i.hasNext();) {
+			final Int2IntMap.Entry e = i.next();
+			final int k = e.getIntKey();
+			assertEquals(t.get(k), e.getIntValue());
+			if (r.nextBoolean()) {
+				i.remove();
+				t.remove(k);
+			}
+		}
+		assertEquals(t, m);
+	}
+
+	@Test
+	public void testWrapAround() {
+		final Int2IntPackedOpenHashMap m = new Int2IntPackedOpenHashMap(4, .5f);
+		assertEquals(8, m.n);
+		// Keys whose home positions are 7, 7 and 6: the second one wraps to slot 0
+		m.put(HashCommon.invMix(7), 7);
+		m.put(HashCommon.invMix(7 + 8), 15);
+		m.put(HashCommon.invMix(6), 6);
+		final Int2IntPackedOpenHashMap copy = m.clone();
+		final Int2IntPackedOpenHashMap t = new Int2IntPackedOpenHashMap();
+		final ObjectIterator<Int2IntMap.Entry> i = m.int2IntEntrySet().iterator();
+		Int2IntMap.Entry e;
+		e = i.next();
+		t.put(e.getIntKey(), e.getIntValue());
+		// Removing slot 7 moves the entry in slot 0 back to slot 7
+		i.remove();
+		while(i.hasNext()) {
+			e = i.next();
+			t.put(e.getIntKey(), e.getIntValue());
+		}
+		assertEquals(3, t.size());
+		assertEquals(copy, t);
+	}
+
+	@Test
+	public void testNullKey() {
+		final Int2IntPackedOpenHashMap m = new Int2IntPackedOpenHashMap();
+		m.defaultReturnValue(-1);
+		assertEquals(-1, m.put(0, 1));
+		assertTrue(m.containsKey(0));
+		assertEquals(1, m.get(0));
+		assertEquals(1, m.addTo(0, 1));
+		assertEquals(2, m.remove(0));
+		assertFalse(m.containsKey(0));
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntPackedOpenHashMap m = new Int2IntPackedOpenHashMap();
+		for(int i = 0; i < 1000; i++) m.put(i * 31, -i);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Int2IntPackedOpenHashMap n = (Int2IntPackedOpenHashMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		assertTrue(n.trim());
+		assertEquals(m, n);
+	}
+}
@@ -0,0 +1,169 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Int2IntRobinHoodHashMapTest {
+
+	private static void checkProbeDistances(final Int2IntRobinHoodHashMap m) {
+		// Along a run, the probe distance can grow by at most one.
+		for(int i = 0; i < m.n; i++) {
+			final int next = (i + 1) & m.mask;
+			if (m.key[i] == 0 || m.key[next] == 0) continue;
+			final int d = (i - HashCommon.mix(m.key[i])) & m.mask;
+			final int e = (next - HashCommon.mix(m.key[next])) & m.mask;
+			assertTrue(e <= d + 1);
+		}
+	}
+
+	@Test
+	public void testAgainstOpenHashMap() {
+		for(final float f : new float[] { .5f, .75f, .9f, .99f }) {
+			final Int2IntRobinHoodHashMap m = new Int2IntRobinHoodHashMap(16, f);
+			final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+			m.defaultReturnValue(-1);
+			t.defaultReturnValue(-1);
+			final Random r = new Random(0);
+			for(int i = 0; i < 100000; i++) {
+				final int k = r.nextInt(10000) - 5000, v = r.nextInt();
+				switch(r.nextInt(5)) {
+				case 0: case 1:
+					assertEquals(t.put(k, v), m.put(k, v));
+					break;
+				case 2:
+					assertEquals(t.remove(k), m.remove(k));
+					break;
+				case 3:
+					assertEquals(t.addTo(k, v), m.addTo(k, v));
+					break;
+				default:
+					assertEquals(t.get(k), m.get(k));
+					assertEquals(t.containsKey(k), m.containsKey(k));
+				}
+			}
+			assertEquals(t.size(), m.size());
+			assertEquals(t, m);
+			assertEquals(m, t);
+			assertEquals(t.hashCode(), m.hashCode());
+			checkProbeDistances(m);
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Int2IntRobinHoodHashMap m = new Int2IntRobinHoodHashMap(16, .9f);
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		final Random r = new Random(0);
+		for(int i = 0; i < 10000; i++) {
+			final int k = r.nextInt();
+			m.put(k, i);
+			t.put(k, i);
+		}
+		for(final ObjectIterator<Int2IntMap.Entry> i = m.int2IntEntrySet().iterator(); i.hasNext();) {
+			final Int2IntMap.Entry e = i.next();
+			final int k = e.getIntKey();
+			assertEquals(t.get(k), e.getIntValue());
+			if (r.nextBoolean()) {
+				i.remove();
+				t.remove(k);
+			}
+		}
+		assertEquals(t, m);
+		checkProbeDistances(m);
+	}
+
+	@Test
+	public void testWrapAround() {
+		final Int2IntRobinHoodHashMap m = new Int2IntRobinHoodHashMap(4, .5f);
+		assertEquals(8, m.n);
+		// Keys whose home positions are 6, 7 and 6: the last one wraps to slot 0
+		m.put(HashCommon.invMix(6), 6);
+		m.put(HashCommon.invMix(7), 7);
+		m.put(HashCommon.invMix(6 + 8), 14);
+		assertNotEquals(0, m.key[0]);
+		assertNotEquals(0, m.key[6]);
+		assertNotEquals(0, m.key[7]);
+		final Int2IntRobinHoodHashMap copy = m.clone();
+		final Int2IntRobinHoodHashMap t = new Int2IntRobinHoodHashMap();
+		final ObjectIterator<Int2IntMap.Entry> i = m.int2IntEntrySet().iterator();
+		Int2IntMap.Entry e;
+		e = i.next();
+		t.put(e.getIntKey(), e.getIntValue());
+		// Removing slot 7 moves the entry in slot 0 back to slot 7
+		i.remove();
+		while(i.hasNext()) {
+			e = i.next();
+			t.put(e.getIntKey(), e.getIntValue());
+		}
+		assertEquals(3, t.size());
+		assertEquals(copy, t);
+	}
+
+	@Test
+	public void testNullKey() {
+		final Int2IntRobinHoodHashMap m = new Int2IntRobinHoodHashMap();
+		m.defaultReturnValue(-1);
+		assertEquals(-1, m.put(0, 1));
+		assertTrue(m.containsKey(0));
+		assertEquals(1, m.get(0));
+		assertEquals(1, m.addTo(0, 1));
+		assertEquals(2, m.remove(0));
+		assertFalse(m.containsKey(0));
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testTrim() {
+		final Int2IntRobinHoodHashMap m = new Int2IntRobinHoodHashMap(16, .9f);
+		for(int i = 0; i < 100000; i++) m.put(i, -i);
+		m.clear();
+		for(int i = 0; i < 10; i++) m.put(i, -i);
+		assertTrue(m.trim());
+		assertTrue(m.n <= 16);
+		for(int i = 0; i < 10; i++) assertEquals(-i, m.get(i));
+		checkProbeDistances(m);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntRobinHoodHashMap m = new Int2IntRobinHoodHashMap(16, .9f);
+		for(int i = 0; i < 1000; i++) m.put(i * 31, i);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Int2IntRobinHoodHashMap n = (Int2IntRobinHoodHashMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		checkProbeDistances(n);
+	}
+}
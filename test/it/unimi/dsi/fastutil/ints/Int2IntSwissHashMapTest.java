@@ -0,0 +1,177 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Int2IntSwissHashMapTest {
+
+	private static int ctrl(final Int2IntSwissHashMap m, final int pos) {
+		return (int)(m.ctrl[pos >>> 3] >>> ((pos & 7) << 3)) & 0xFF;
+	}
+
+	private static void checkControlBytes(final Int2IntSwissHashMap m) {
+		int full = 0, used = 0;
+		for(int i = 0; i < m.n; i++) {
+			final int c = ctrl(m, i);
+			if (c != Int2IntSwissHashMap.EMPTY) used++;
+			if ((c & 0x80) != 0) continue;
+			full++;
+			assertEquals(HashCommon.mix(m.key[i]) & 0x7F, c);
+		}
+		assertEquals(m.containsNullKey ? m.size() - 1 : m.size(), full);
+		assertEquals(m.used, used);
+	}
+
+	@Test
+	public void testAgainstOpenHashMap() {
+		for(final float f : new float[] { .5f, .75f, .875f, .95f }) {
+			final Int2IntSwissHashMap m = new Int2IntSwissHashMap(16, f);
+			final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+			m.defaultReturnValue(-1);
+			t.defaultReturnValue(-1);
+			final Random r = new Random(0);
+			for(int i = 0; i < 100000; i++) {
+				final int k = r.nextInt(10000) - 5000, v = r.nextInt();
+				switch(r.nextInt(5)) {
+				case 0: case 1:
+					assertEquals(t.put(k, v), m.put(k, v));
+					break;
+				case 2:
+					assertEquals(t.remove(k), m.remove(k));
+					break;
+				case 3:
+					assertEquals(t.addTo(k, v), m.addTo(k, v));
+					break;
+				default:
+					assertEquals(t.get(k), m.get(k));
+					assertEquals(t.containsKey(k), m.containsKey(k));
+				}
+			}
+			assertEquals(t.size(), m.size());
+			assertEquals(t, m);
+			assertEquals(m, t);
+			assertEquals(t.hashCode(), m.hashCode());
+			checkControlBytes(m);
+		}
+	}
+
+	@Test
+	public void testTombstones() {
+		final Int2IntSwissHashMap m = new Int2IntSwissHashMap(8, .875f);
+		final int n = m.n;
+		m.defaultReturnValue(-1);
+		// Churning through distinct keys must reuse or clean up tombstones instead of growing the table.
+		for(int i = 1; i < 100000; i++) {
+			m.put(i, i);
+			if (i > 4) assertEquals(i - 4, m.remove(i - 4));
+			assertTrue(m.used <= m.maxFill);
+		}
+		assertEquals(n, m.n);
+		assertEquals(4, m.size());
+		for(int i = 99996; i < 100000; i++) assertEquals(i, m.get(i));
+		assertEquals(-1, m.get(1));
+		checkControlBytes(m);
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Int2IntSwissHashMap m = new Int2IntSwissHashMap(16, .875f);
+		final Int2IntOpenHashMap t = new Int2IntOpenHashMap();
+		final Random r = new Random(0);
+		for(int i = 0; i < 10000; i++) {
+			final int k = r.nextInt();
+			m.put(k, i);
+			t.put(k, i);
+		}
+		m.put(0, -1);
+		t.put(0, -1);
+		for(final ObjectIterator<Int2IntMap.Entry> i = m.int2IntEntrySet().iterator(); i.hasNext();) {
+			final Int2IntMap.Entry e = i.next();
+			final int k = e.getIntKey();
+			assertEquals(t.get(k), e.getIntValue());
+			if (r.nextBoolean()) {
+				i.remove();
+				t.remove(k);
+			}
+		}
+		assertEquals(t, m);
+		checkControlBytes(m);
+		for(final IntIterator i = m.keySet().iterator(); i.hasNext();) {
+			i.nextInt();
+			i.remove();
+		}
+		assertTrue(m.isEmpty());
+		checkControlBytes(m);
+	}
+
+	@Test
+	public void testNullKey() {
+		final Int2IntSwissHashMap m = new Int2IntSwissHashMap();
+		m.defaultReturnValue(-1);
+		assertEquals(-1, m.put(0, 1));
+		assertTrue(m.containsKey(0));
+		assertEquals(1, m.get(0));
+		assertEquals(1, m.addTo(0, 1));
+		assertEquals(2, m.remove(0));
+		assertFalse(m.containsKey(0));
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testTrim() {
+		final Int2IntSwissHashMap m = new Int2IntSwissHashMap(16, .875f);
+		for(int i = 0; i < 100000; i++) m.put(i, -i);
+		m.clear();
+		assertEquals(0, m.used);
+		for(int i = 0; i < 10; i++) m.put(i, -i);
+		assertTrue(m.trim());
+		assertEquals(16, m.n);
+		for(int i = 0; i < 10; i++) assertEquals(-i, m.get(i));
+		checkControlBytes(m);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Int2IntSwissHashMap m = new Int2IntSwissHashMap(16, .875f);
+		for(int i = 0; i < 1000; i++) m.put(i * 31, i);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Int2IntSwissHashMap n = (Int2IntSwissHashMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		checkControlBytes(n);
+		final Int2IntSwissHashMap c = m.clone();
+		m.clear();
+		assertEquals(n, c);
+	}
+}
@@ -0,0 +1,142 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.objects.Object2LongCountingMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+public class Int2LongCountingMapTest {
+
+	@Test
+	public void testSequential() {
+		final Int2LongCountingMap m = new Int2LongCountingMap(4);
+		assertTrue(m.isEmpty());
+		for(int i = 0; i < 1000; i++) assertEquals(i / 100 + 1, m.incrementAndGet(i % 100));
+		assertEquals(10, m.get(0));
+		assertEquals(0, m.get(100));
+		assertEquals(110, m.addAndGet(99, 100));
+		m.add(100, -3);
+		assertEquals(-3, m.get(100));
+		assertEquals(101, m.size());
+
+		final Int2LongOpenHashMap snapshot = m.snapshot();
+		assertEquals(101, snapshot.size());
+		assertEquals(110, snapshot.get(99));
+
+		final Int2LongOpenHashMap target = new Int2LongOpenHashMap();
+		target.put(0, 5);
+		assertEquals(101, m.drainTo(target));
+		assertTrue(m.isEmpty());
+		assertEquals(0, m.get(0));
+		assertEquals(15, target.get(0));
+		assertEquals(-3, target.get(100));
+		assertEquals(0, m.drainTo(target));
+	}
+
+	@Test
+	public void testObjectKeys() {
+		final Object2LongCountingMap<String> m = new Object2LongCountingMap<>(2);
+		m.add("a", 1);
+		m.add(null, 2);
+		m.add("a", 3);
+		assertEquals(4, m.get("a"));
+		assertEquals(2, m.get(null));
+		final Object2LongOpenHashMap<String> target = new Object2LongOpenHashMap<>();
+		m.drainTo(target);
+		assertEquals(4, target.getLong("a"));
+		assertEquals(2, target.getLong(null));
+	}
+
+	@Test
+	public void testHotKey() throws InterruptedException {
+		final Int2LongCountingMap m = new Int2LongCountingMap();
+		final Thread[] thread = new Thread[8];
+		for(int t = thread.length; t-- != 0;) {
+			final int seed = t;
+			thread[t] = new Thread(() -> {
+				for(int i = 0; i < 100000; i++) {
+					m.add(0, 1);
+					if (i % 10 == 0) m.incrementAndGet(seed * 100000 + i + 1);
+				}
+			});
+		}
+		for(final Thread t : thread) t.start();
+		for(final Thread t : thread) t.join();
+		assertEquals(800000, m.get(0));
+		assertEquals(80001, m.size());
+		long sum = 0;
+		for(final long v : m.snapshot().values()) sum += v;
+		assertEquals(880000, sum);
+	}
+
+	@Test
+	public void testConcurrentDrain() throws InterruptedException {
+		final Int2LongCountingMap m = new Int2LongCountingMap(4);
+		final Int2LongOpenHashMap target = new Int2LongOpenHashMap();
+		final AtomicBoolean done = new AtomicBoolean();
+		final Thread[] thread = new Thread[4];
+		for(int t = thread.length; t-- != 0;) {
+			thread[t] = new Thread(() -> {
+				for(int i = 0; i < 200000; i++) m.add(i % 1000, 1);
+			});
+		}
+		final Thread drainer = new Thread(() -> {
+			while(! done.get()) m.drainTo(target);
+		});
+		drainer.start();
+		for(final Thread t : thread) t.start();
+		for(final Thread t : thread) t.join();
+		done.set(true);
+		drainer.join();
+		m.drainTo(target);
+		assertFalse(target.isEmpty());
+		for(int k = 0; k < 1000; k++) assertEquals(800, target.get(k));
+	}
+
+	@Test
+	public void testConcurrentDrainAddAndGet() throws InterruptedException {
+		for(int round = 0; round < 20; round++) {
+			final Int2LongCountingMap m = new Int2LongCountingMap(2);
+			final Int2LongOpenHashMap target = new Int2LongOpenHashMap();
+			final Thread[] thread = new Thread[8];
+			for(int t = thread.length; t-- != 0;) {
+				thread[t] = new Thread(() -> {
+					for(int i = 0; i < 20000; i++) m.addAndGet(i & 1, 1);
+				});
+			}
+			for(final Thread t : thread) t.start();
+			boolean running = true;
+			while(running) {
+				m.drainTo(target);
+				running = false;
+				for(final Thread t : thread) running |= t.isAlive();
+			}
+			for(final Thread t : thread) t.join();
+			m.drainTo(target);
+			assertEquals(80000, target.get(0));
+			assertEquals(80000, target.get(1));
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.EvictionPolicy;
+
+public class Int2ObjectBoundedCacheTest {
+
+	@Test
+	public void testLRU() {
+		final IntArrayList evicted = new IntArrayList();
+		final ArrayList<String> evictedValues = new ArrayList<>();
+		final Int2ObjectBoundedCache<String> c = new Int2ObjectBoundedCache<>(3, EvictionPolicy.LRU, (k, v) -> { evicted.add(k); evictedValues.add(v); });
+		c.put(0, "0");
+		c.put(1, "1");
+		c.put(2, "2");
+		assertEquals("0", c.get(0));
+		c.put(3, "3");
+		assertEquals(IntArrayList.wrap(new int[] { 1 }), evicted);
+		assertEquals("1", evictedValues.get(0));
+		assertNull(c.get(1));
+		assertEquals("2", c.put(2, "two"));
+		c.put(4, "4");
+		assertEquals(IntArrayList.wrap(new int[] { 1, 0 }), evicted);
+		assertEquals(IntArrayList.wrap(new int[] { 3, 2, 4 }), new IntArrayList(c.asMap().keySet()));
+		assertEquals(3, c.size());
+		assertEquals(1, c.hits());
+		assertEquals(1, c.misses());
+		assertEquals(2, c.evictions());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testAsMapIsUnmodifiable() {
+		final Int2ObjectBoundedCache<String> c = new Int2ObjectBoundedCache<>(3, EvictionPolicy.LRU);
+		c.put(0, "0");
+		c.asMap().put(1, "1");
+	}
+
+	@Test
+	public void testLFU() {
+		final Int2ObjectBoundedCache<String> c = new Int2ObjectBoundedCache<>(10, EvictionPolicy.LFU);
+		for(int i = 0; i < 10; i++) c.put(i, Integer.toString(i));
+		for(int r = 0; r < 20; r++) for(int i = 0; i < 5; i++) c.get(i);
+		// A scan must not evict the hot keys
+		for(int i = 100; i < 200; i++) c.put(i, Integer.toString(i));
+		for(int i = 0; i < 5; i++) assertTrue(Integer.toString(i), c.containsKey(i));
+		assertEquals(10, c.size());
+		assertEquals(100, c.hits());
+		assertEquals(100, c.evictions());
+	}
+
+	@Test
+	public void testPeekDoesNotPromote() {
+		final Int2ObjectBoundedCache<String> c = new Int2ObjectBoundedCache<>(2);
+		c.put(0, "0");
+		c.put(1, "1");
+		assertEquals("0", c.peek(0));
+		assertTrue(c.containsKey(0));
+		c.put(2, "2");
+		assertFalse(c.containsKey(0));
+		assertEquals(0, c.hits());
+		assertEquals(0, c.misses());
+	}
+
+	@Test
+	public void testNullKeyAndRemove() {
+		final Int2ObjectBoundedCache<String> c = new Int2ObjectBoundedCache<>(2, EvictionPolicy.LFU);
+		c.defaultReturnValue("none");
+		c.put(0, "0");
+		c.put(1, "1");
+		assertEquals("0", c.get(0));
+		assertEquals("1", c.remove(1));
+		assertEquals("none", c.get(1));
+		c.put(2, "2");
+		c.put(3, "3");
+		assertEquals(2, c.size());
+		assertEquals(1, c.evictions());
+		c.clear();
+		assertTrue(c.isEmpty());
+	}
+
+	@Test
+	public void testAgainstModel() {
+		for(final EvictionPolicy policy : EvictionPolicy.values()) {
+			final Int2IntBoundedCache c = new Int2IntBoundedCache(100, policy);
+			c.defaultReturnValue(-1);
+			final Random r = new Random(0);
+			for(int i = 0; i < 100000; i++) {
+				final int k = r.nextInt(300);
+				if (r.nextBoolean()) c.put(k, k);
+				else {
+					final int v = c.get(k);
+					assertTrue(v == -1 || v == k);
+				}
+				assertTrue(c.size() <= 100);
+				// Links must stay consistent
+				if (i % 1000 == 0) assertEquals(c.size(), new IntArrayList(c.asMap().keySet().iterator()).size());
+			}
+			assertEquals(100, c.size());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroSize() {
+		new Int2ObjectBoundedCache<String>(0);
+	}
+}
@@ -9,11 +9,15 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
+import it.unimi.dsi.fastutil.BigArrays;
 import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashStatistics;
 
 @SuppressWarnings("rawtypes")
 public class IntOpenHashBigSetTest {
@@ -371,4 +375,48 @@ public class IntOpenHashBigSetTest {
 		test(1000, Hash.FAST_LOAD_FACTOR);
 		test(1000, Hash.VERY_FAST_LOAD_FACTOR);
 	}
+
+	@Test
+	public void testStatistics() {
+		final IntOpenHashBigSet s = new IntOpenHashBigSet(Hash.DEFAULT_INITIAL_SIZE);
+		s.collectStatistics(true);
+		for(int i = 0; i < 10000; i++) s.add(i * 7);
+		s.add(0);
+		final HashStatistics t = s.statistics();
+		assertEquals(10000, t.size());
+		assertEquals(s.n, t.tableSize());
+		assertTrue(t.fill() <= Hash.DEFAULT_LOAD_FACTOR);
+		assertTrue(t.averageHitProbeLength() >= 1);
+		assertTrue(t.maxHitProbeLength() <= t.longestCluster());
+		assertEquals(t.longestCluster() + 1, t.maxMissProbeLength());
+		assertTrue(t.rehashCount() > 0);
+	}
+
+	@Test
+	public void testBulkLoad() {
+		final Random r = new Random(0);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for(final int size : new int[] { 0, 1, 1000, 300000 }) {
+				for(final float f : new float[] { .5f, .75f, 1f }) {
+					final int[][] a = IntBigArrays.newBigArray(size);
+					for(int i = 0; i < size; i++) BigArrays.set(a, i, r.nextInt(size / 2 + 1) - size / 4);
+					final IntOpenHashBigSet s = new IntOpenHashBigSet(size, f);
+					for(int i = 0; i < size; i++) s.add(get(a, i));
+					final IntOpenHashBigSet p = IntOpenHashBigSet.parallelBulkLoad(a, f, pool);
+					assertEquals(s, IntOpenHashBigSet.bulkLoad(a, f));
+					assertEquals(s, p);
+					assertEquals(s.size64(), p.size64());
+					for(int i = 0; i < size; i += 2) {
+						assertEquals(s.remove(get(a, i)), p.remove(get(a, i)));
+						assertEquals(s.add(i), p.add(i));
+					}
+					assertEquals(s, p);
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -24,6 +24,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -552,4 +554,132 @@ public class IntOpenHashSetTest {
 		test(1000, Hash.FAST_LOAD_FACTOR);
 		test(1000, Hash.VERY_FAST_LOAD_FACTOR);
 	}
+
+	@Test
+	public void testContainsAll() {
+		final IntOpenHashSet s = new IntOpenHashSet();
+		for(int i = -100; i < 100; i += 3) s.add(i);
+		final int[] keys = new int[200];
+		for(int i = 0; i < keys.length; i++) keys[i] = i - 100;
+		final boolean[] out = new boolean[keys.length];
+		s.containsAll(keys, out);
+		for(int i = 0; i < keys.length; i++) assertEquals(s.contains(keys[i]), out[i]);
+		s.remove(-1);
+		s.containsAll(keys, 99, 100, out);
+		assertFalse(out[99]);
+	}
+
+	@Test
+	public void testBulkLoad() {
+		final Random r = new Random(0);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for(final int size : new int[] { 0, 1, 1000, 300000 }) {
+				for(final float f : new float[] { .5f, .75f, .99f }) {
+					final int[] a = new int[size];
+					for(int i = 0; i < size; i++) a[i] = r.nextInt(size / 2 + 1) - size / 4;
+					final IntOpenHashSet s = new IntOpenHashSet(a, f);
+					final IntOpenHashSet p = IntOpenHashSet.parallelBulkLoad(a, f, pool);
+					assertEquals(s, IntOpenHashSet.bulkLoad(a, f));
+					assertEquals(s, p);
+					assertEquals(s.size(), p.size());
+					for(int i = 0; i < size; i += 2) {
+						assertEquals(s.remove(a[i]), p.remove(a[i]));
+						assertEquals(s.add(i), p.add(i));
+					}
+					assertEquals(s, p);
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testSetAlgebra() {
+		final Random r = new Random(0);
+		for(final int size : new int[] { 10, 1000, 100000 }) {
+			for(int t = 0; t < 4; t++) {
+				// Same capacity for t even, different capacities otherwise
+				final IntOpenHashSet a = new IntOpenHashSet(), b = new IntOpenHashSet(t % 2 == 0 ? 0 : 4 * size);
+				for(int i = 0; i < size; i++) {
+					a.add(r.nextInt(2 * size) - size / 2);
+					b.add(r.nextInt(2 * size) - size / 2);
+				}
+				if (t < 2) {
+					a.add(0);
+					b.add(0);
+				}
+				final java.util.HashSet<Integer> ja = new java.util.HashSet<>(a), jb = new java.util.HashSet<>(b);
+
+				final java.util.HashSet<Integer> u = new java.util.HashSet<>(ja);
+				u.addAll(jb);
+				assertEquals(u, a.union(b));
+				final java.util.HashSet<Integer> i = new java.util.HashSet<>(ja);
+				i.retainAll(jb);
+				assertEquals(i, a.intersection(b));
+				assertEquals(i, b.intersection(a));
+				final java.util.HashSet<Integer> d = new java.util.HashSet<>(ja);
+				d.removeAll(jb);
+				assertEquals(d, a.difference(b));
+
+				assertEquals(ja.containsAll(jb), a.containsAll(b));
+				assertTrue(a.union(b).containsAll(b));
+				assertTrue(a.containsAll(a.intersection(b)));
+
+				IntOpenHashSet c = a.clone();
+				assertEquals(! jb.containsAll(ja), c.addAll(b));
+				assertEquals(u, c);
+				c = a.clone();
+				assertEquals(! i.equals(ja), c.retainAll(b));
+				assertEquals(i, c);
+				c = a.clone();
+				assertEquals(! d.equals(ja), c.removeAll(b));
+				assertEquals(d, c);
+				c = b.clone();
+				c.removeAll(a);
+				final java.util.HashSet<Integer> e = new java.util.HashSet<>(jb);
+				e.removeAll(ja);
+				assertEquals(e, c);
+			}
+		}
+	}
+
+	@Test
+	public void testAutoShrink() {
+		final IntOpenHashSet s = new IntOpenHashSet(1 << 16);
+		final int n = s.n;
+		for(int i = 0; i < 1 << 16; i++) s.add(i);
+		s.autoShrink(1 / 8f);
+		for(int i = 0; i < (1 << 16) - 100; i++) s.remove(i);
+		assertTrue(s.n < n);
+		assertEquals(100, s.size());
+		for(int i = (1 << 16) - 100; i < 1 << 16; i++) assertTrue(s.contains(i));
+
+		final IntOpenHashSet t = new IntOpenHashSet();
+		for(int i = 0; i < 1000; i++) t.add(i);
+		final IntOpenHashSet u = new IntOpenHashSet(1 << 16);
+		u.addAll(t);
+		u.autoShrink(1 / 8f);
+		// Bulk removals ignore the construction-time size, too.
+		u.removeAll(new IntOpenHashSet(IntArrays.copy(t.toIntArray(), 1, 995)));
+		assertEquals(5, u.size());
+		assertTrue(u.n < 1 << 16);
+
+		u.clear();
+		assertEquals(Hash.DEFAULT_INITIAL_SIZE, u.n);
+	}
+
+	@Test
+	public void testSetAlgebraSelf() {
+		final IntOpenHashSet a = new IntOpenHashSet(new int[] { 0, 1, 2, 3 });
+		assertFalse(a.addAll(a));
+		assertFalse(a.retainAll(a));
+		assertTrue(a.containsAll(a));
+		assertEquals(a, a.intersection(a));
+		assertTrue(a.difference(a).isEmpty());
+		assertTrue(a.removeAll(a));
+		assertTrue(a.isEmpty());
+	}
 }
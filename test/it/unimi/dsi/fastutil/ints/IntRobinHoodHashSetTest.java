@@ -0,0 +1,76 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntRobinHoodHashSetTest {
+
+	@Test
+	public void testAgainstOpenHashSet() {
+		final IntRobinHoodHashSet s = new IntRobinHoodHashSet(16, .9f);
+		final IntOpenHashSet t = new IntOpenHashSet();
+		final Random r = new Random(0);
+		for(int i = 0; i < 100000; i++) {
+			final int k = r.nextInt(10000) - 5000;
+			switch(r.nextInt(3)) {
+			case 0:
+				assertEquals(t.add(k), s.add(k));
+				break;
+			case 1:
+				assertEquals(t.remove(k), s.remove(k));
+				break;
+			default:
+				assertEquals(t.contains(k), s.contains(k));
+			}
+		}
+		assertEquals(t, s);
+		assertEquals(s, t);
+		assertEquals(t.hashCode(), s.hashCode());
+
+		for(final IntIterator i = s.iterator(); i.hasNext();) {
+			final int k = i.nextInt();
+			if (r.nextBoolean()) {
+				i.remove();
+				t.remove(k);
+			}
+		}
+		assertEquals(t, s);
+		s.clear();
+		assertTrue(s.isEmpty());
+		assertFalse(s.contains(0));
+	}
+
+	@Test
+	public void testNull() {
+		final IntRobinHoodHashSet s = new IntRobinHoodHashSet(new int[] { 0, 1, 2 });
+		assertTrue(s.contains(0));
+		assertFalse(s.add(0));
+		final IntRobinHoodHashSet c = s.clone();
+		assertTrue(s.remove(0));
+		assertFalse(s.contains(0));
+		assertEquals(2, s.size());
+		assertEquals(3, c.size());
+		assertTrue(c.contains(0));
+	}
+}
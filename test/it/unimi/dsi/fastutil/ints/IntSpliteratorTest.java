@@ -0,0 +1,130 @@
+package it.unimi.dsi.fastutil.ints;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.Spliterator;
+
+import org.junit.Test;
+
+public class IntSpliteratorTest {
+
+	/** Splits recursively the given spliterator, checking that each element is returned exactly once. */
+	private static void drain(final Spliterator.OfInt spliterator, final IntCollection expected, final IntOpenHashSet seen) {
+		final Spliterator.OfInt prefix = spliterator.trySplit();
+		if (prefix != null) drain(prefix, expected, seen);
+		if (spliterator.tryAdvance((int k) -> { assertTrue(expected.contains(k)); assertTrue(seen.add(k)); })) spliterator.forEachRemaining((int k) -> { assertTrue(expected.contains(k)); assertTrue(seen.add(k)); });
+		assertFalse(spliterator.tryAdvance((int k) -> {}));
+	}
+
+	private static IntOpenHashSet randomSet(final int n) {
+		final Random r = new Random(0);
+		final IntOpenHashSet s = new IntOpenHashSet();
+		s.add(0);
+		while (s.size() < n) s.add(r.nextInt());
+		return s;
+	}
+
+	@Test
+	public void testOpenHashSet() {
+		final IntOpenHashSet s = randomSet(10000);
+		final Spliterator.OfInt spliterator = s.spliterator();
+		assertEquals(s.size(), spliterator.estimateSize());
+		assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT | Spliterator.SIZED));
+
+		final IntOpenHashSet seen = new IntOpenHashSet();
+		drain(s.spliterator(), s, seen);
+		assertEquals(s, seen);
+
+		long sum = 0;
+		for (final int k : s) sum += k;
+		assertEquals(sum, s.intStream().asLongStream().sum());
+		assertEquals(sum, s.intParallelStream().asLongStream().sum());
+		assertEquals(s.size(), s.intParallelStream().count());
+	}
+
+	@Test
+	public void testOpenHashBigSet() {
+		final IntOpenHashSet s = randomSet(10000);
+		final IntOpenHashBigSet b = new IntOpenHashBigSet(s);
+		assertEquals(b.size64(), b.spliterator().estimateSize());
+
+		final IntOpenHashSet seen = new IntOpenHashSet();
+		drain(b.spliterator(), s, seen);
+		assertEquals(s, seen);
+		assertEquals(s.intStream().asLongStream().sum(), b.intParallelStream().asLongStream().sum());
+	}
+
+	@Test
+	public void testOpenHashMapViews() {
+		final Int2IntOpenHashMap m = new Int2IntOpenHashMap();
+		final Random r = new Random(0);
+		m.put(0, 1);
+		while (m.size() < 10000) m.put(r.nextInt(), r.nextInt(1000));
+
+		final IntOpenHashSet seen = new IntOpenHashSet();
+		drain(m.keySet().spliterator(), m.keySet(), seen);
+		assertEquals(m.keySet(), seen);
+		assertTrue(m.keySet().spliterator().hasCharacteristics(Spliterator.DISTINCT));
+
+		long keySum = 0, valueSum = 0;
+		for (final Int2IntMap.Entry e : m.int2IntEntrySet()) {
+			keySum += e.getIntKey();
+			valueSum += e.getIntValue();
+		}
+		assertEquals(keySum, m.keySet().intParallelStream().asLongStream().sum());
+		assertEquals(valueSum, m.values().intParallelStream().asLongStream().sum());
+		assertEquals(m.size(), m.values().intParallelStream().count());
+		assertFalse(m.values().spliterator().hasCharacteristics(Spliterator.DISTINCT));
+	}
+
+	@Test
+	public void testLists() {
+		final IntArrayList l = new IntArrayList();
+		for (int i = 0; i < 10000; i++) l.add(i);
+		final IntBigArrayBigList b = new IntBigArrayBigList(l.iterator());
+		final long sum = 10000L * 9999 / 2;
+
+		assertTrue(l.spliterator().hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertTrue(b.spliterator().hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+		assertEquals(sum, l.intParallelStream().asLongStream().sum());
+		assertEquals(sum, b.intParallelStream().asLongStream().sum());
+		assertEquals(l, new IntArrayList(b.intParallelStream().toArray()));
+
+		final Spliterator.OfInt spliterator = b.spliterator();
+		final Spliterator.OfInt prefix = spliterator.trySplit();
+		assertEquals(5000, prefix.estimateSize());
+		assertEquals(5000, spliterator.estimateSize());
+		assertTrue(prefix.tryAdvance((int k) -> assertEquals(0, k)));
+		assertTrue(spliterator.tryAdvance((int k) -> assertEquals(5000, k)));
+
+		assertNull(new IntBigArrayBigList().spliterator().trySplit());
+	}
+
+	@Test
+	public void testSortedSet() {
+		final IntRBTreeSet s = new IntRBTreeSet(new int[] { 3, 1, 2 });
+		assertTrue(s.spliterator().hasCharacteristics(Spliterator.SORTED | Spliterator.DISTINCT));
+		assertFalse(new IntRBTreeSet(IntComparators.OPPOSITE_COMPARATOR).spliterator().hasCharacteristics(Spliterator.SORTED));
+		assertEquals(6, s.intStream().sum());
+	}
+}
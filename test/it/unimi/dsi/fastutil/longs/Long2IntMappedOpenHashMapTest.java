@@ -0,0 +1,102 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Long2IntMappedOpenHashMapTest {
+
+	@Test
+	public void testStoreAndMap() throws IOException {
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		final Random r = new Random(0);
+		for(final int size : new int[] { 0, 1, 1000, 100000 }) {
+			final Long2IntOpenHashMap m = new Long2IntOpenHashMap();
+			for(int i = 0; i < size; i++) m.put(r.nextLong(), r.nextInt());
+			for(int i = 0; i < size; i += 3) m.remove(m.keySet().iterator().nextLong());
+			if (size > 0) m.put(0, 42);
+			Long2IntMappedOpenHashMap.store(m, file);
+			final Long2IntMappedOpenHashMap t = Long2IntMappedOpenHashMap.map(file);
+			assertEquals(m.size(), t.size64());
+			assertEquals(m, t);
+			assertEquals(t, m);
+			assertEquals(m.hashCode(), t.hashCode());
+			if (size > 0) {
+				assertTrue(t.containsKey(0));
+				assertEquals(42, t.get(0));
+				assertTrue(t.containsValue(42));
+			}
+			else assertFalse(t.containsKey(0));
+			t.defaultReturnValue(-1);
+			for(int i = 0; i < 1000; i++) {
+				final long k = r.nextLong();
+				assertEquals(m.containsKey(k), t.containsKey(k));
+				assertEquals(m.getOrDefault(k, -1), t.get(k));
+			}
+		}
+	}
+
+	@Test
+	public void testStoreDuringIncrementalRehash() throws IOException {
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		final Long2IntOpenHashMap m = new Long2IntOpenHashMap();
+		m.incrementalRehash(true);
+		for(int i = 0; i < 25; i++) m.put(i, i);
+		Long2IntMappedOpenHashMap.store(m, file);
+		final Long2IntMappedOpenHashMap t = Long2IntMappedOpenHashMap.map(file);
+		assertEquals(25, t.size64());
+		assertEquals(m, t);
+		for(int i = 0; i < 25; i++) assertTrue(t.containsKey(i));
+	}
+
+	@Test(expected = IOException.class)
+	public void testWrongType() throws IOException {
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		final Long2IntOpenHashMap m = new Long2IntOpenHashMap();
+		m.put(1, 1);
+		Long2IntMappedOpenHashMap.store(m, file);
+		Long2LongMappedOpenHashMap.map(file);
+	}
+
+	@Test(expected = java.io.NotSerializableException.class)
+	public void testNotSerializable() throws IOException {
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		Long2IntMappedOpenHashMap.store(new Long2IntOpenHashMap(), file);
+		new java.io.ObjectOutputStream(new java.io.ByteArrayOutputStream()).writeObject(Long2IntMappedOpenHashMap.map(file));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testReadOnly() throws IOException {
+		final File file = File.createTempFile(getClass().getSimpleName(), "map");
+		file.deleteOnExit();
+		Long2IntMappedOpenHashMap.store(new Long2IntOpenHashMap(), file);
+		Long2IntMappedOpenHashMap.map(file).put(1, 1);
+	}
+}
@@ -0,0 +1,159 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.ints.Int2DoubleOffHeapHashMap;
+import it.unimi.dsi.fastutil.ints.Int2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Long2LongOffHeapHashMapTest {
+
+	@Test
+	public void testAgainstOpenHashMap() {
+		final Long2LongOffHeapHashMap m = new Long2LongOffHeapHashMap(Long2LongOffHeapHashMap.DEFAULT_INITIAL_SIZE);
+		final Long2LongOpenHashMap t = new Long2LongOpenHashMap();
+		m.defaultReturnValue(-1);
+		t.defaultReturnValue(-1);
+		final Random r = new Random(0);
+		for(int i = 0; i < 100000; i++) {
+			final long k = r.nextInt(20000) - 10000, v = r.nextLong();
+			switch(r.nextInt(5)) {
+			case 0: case 1:
+				assertEquals(t.put(k, v), m.put(k, v));
+				break;
+			case 2:
+				assertEquals(t.remove(k), m.remove(k));
+				break;
+			case 3:
+				assertEquals(t.addTo(k, v), m.addTo(k, v));
+				break;
+			default:
+				assertEquals(t.get(k), m.get(k));
+				assertEquals(t.containsKey(k), m.containsKey(k));
+			}
+		}
+		assertEquals(t.size(), m.size64());
+		assertEquals(t, m);
+		assertEquals(m, t);
+		assertEquals(t.hashCode(), m.hashCode());
+		m.clear();
+		assertTrue(m.isEmpty());
+		assertEquals(-1, m.get(0));
+		assertEquals(-1, m.get(1));
+	}
+
+	@Test
+	public void testFloatingPointValues() {
+		final Int2DoubleOffHeapHashMap m = new Int2DoubleOffHeapHashMap();
+		final Int2DoubleOpenHashMap t = new Int2DoubleOpenHashMap();
+		final Random r = new Random(0);
+		for(int i = 0; i < 10000; i++) {
+			final int k = r.nextInt(1000);
+			final double v = r.nextDouble();
+			assertEquals(t.addTo(k, v), m.addTo(k, v), 0);
+		}
+		assertEquals(t, m);
+		assertTrue(m.containsValue(t.get(t.keySet().iterator().nextInt())));
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Long2LongOffHeapHashMap m = new Long2LongOffHeapHashMap();
+		final Long2LongOpenHashMap t = new Long2LongOpenHashMap();
+		final Random r = new Random(0);
+		for(int i = 0; i < 10000; i++) {
+			final long k = r.nextLong();
+			m.put(k, i);
+			t.put(k, i);
+		}
+		m.put(0, -1);
+		t.put(0, -1);
+		for(final ObjectIterator<Long2LongMap.Entry> i = m.long2LongEntrySet().iterator(); i.hasNext();) {
+			final Long2LongMap.Entry e = i.next();
+			final long k = e.getLongKey();
+			assertEquals(t.get(k), e.getLongValue());
+			if (r.nextBoolean()) {
+				i.remove();
+				t.remove(k);
+			}
+			else e.setValue(-k);
+		}
+		for(final Long2LongMap.Entry e : t.long2LongEntrySet()) e.setValue(-e.getLongKey());
+		assertEquals(t, m);
+		for(final LongIterator i = m.keySet().iterator(); i.hasNext();) {
+			i.nextLong();
+			i.remove();
+		}
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testTrim() {
+		final Long2LongOffHeapHashMap m = new Long2LongOffHeapHashMap();
+		for(long i = 0; i < 100000; i++) m.put(i, -i);
+		for(long i = 10; i < 100000; i++) m.remove(i);
+		assertTrue(m.trim());
+		assertEquals(16, m.n);
+		for(long i = 0; i < 10; i++) assertEquals(-i, m.get(i));
+		assertEquals(10, m.size64());
+	}
+
+	@Test
+	public void testClose() {
+		final Long2LongOffHeapHashMap m = new Long2LongOffHeapHashMap();
+		m.put(1, 2);
+		final ObjectIterator<Long2LongMap.Entry> i = m.long2LongEntrySet().iterator();
+		m.close();
+		m.close();
+		for(final Runnable r : new Runnable[] { () -> m.put(0, 1), () -> m.put(1, 1), () -> m.get(0), () -> m.get(1),
+				() -> m.containsKey(0), () -> m.isEmpty(), () -> i.next(), () -> m.keySet().iterator(), () -> m.long2LongEntrySet().iterator() }) {
+			try {
+				r.run();
+				fail();
+			}
+			catch(final IllegalStateException e) {}
+		}
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Long2LongOffHeapHashMap m = new Long2LongOffHeapHashMap();
+		for(long i = 0; i < 1000; i++) m.put(i * 31, i);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Long2LongOffHeapHashMap n = (Long2LongOffHeapHashMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		assertEquals(0, n.get(0));
+		assertEquals(999, n.get(999 * 31));
+	}
+}
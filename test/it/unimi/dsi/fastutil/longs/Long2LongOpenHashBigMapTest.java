@@ -0,0 +1,178 @@
+package it.unimi.dsi.fastutil.longs;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+
+public class Long2LongOpenHashBigMapTest {
+
+	@Test
+	public void testAgainstOpenHashMap() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap(Long2LongOpenHashBigMap.DEFAULT_INITIAL_SIZE);
+		final Long2LongOpenHashMap t = new Long2LongOpenHashMap();
+		m.defaultReturnValue(-1);
+		t.defaultReturnValue(-1);
+		final Random r = new Random(0);
+		for(int i = 0; i < 100000; i++) {
+			final long k = r.nextInt(20000) - 10000, v = r.nextLong();
+			switch(r.nextInt(4)) {
+			case 0: case 1:
+				assertEquals(t.put(k, v), m.put(k, v));
+				break;
+			case 2:
+				assertEquals(t.remove(k), m.remove(k));
+				break;
+			default:
+				assertEquals(t.get(k), m.get(k));
+				assertEquals(t.containsKey(k), m.containsKey(k));
+			}
+		}
+		assertEquals(t.size(), m.size64());
+		assertEquals(t, m);
+		assertEquals(m, t);
+		assertEquals(t.hashCode(), m.hashCode());
+		m.clear();
+		assertTrue(m.isEmpty());
+		assertEquals(-1, m.get(0));
+	}
+
+	@Test
+	public void testAddTo() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		assertEquals(0, m.addTo(0, 2));
+		assertEquals(2, m.addTo(0, 3));
+		assertEquals(0, m.addTo(1, 1));
+		assertEquals(5, m.get(0));
+		m.defaultReturnValue(100);
+		assertEquals(100, m.addTo(7, 1));
+		assertEquals(101, m.get(7));
+		assertEquals(3, m.size64());
+		for(long i = 0; i < 10000; i++) m.addTo(i % 100, 1);
+		assertEquals(100, m.size64());
+		assertEquals(105, m.get(0));
+		assertEquals(201, m.get(7));
+	}
+
+	@Test
+	public void testTrim() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		for(long i = 0; i < 100000; i++) m.put(i, -i);
+		final long n = m.n;
+		for(long i = 100; i < 100000; i++) m.remove(i);
+		assertTrue(m.n < n);
+		m.clear();
+		for(long i = 0; i < 10; i++) m.put(i, -i);
+		assertTrue(m.trim(10));
+		assertTrue(m.n <= 16);
+		for(long i = 0; i < 10; i++) assertEquals(-i, m.get(i));
+		assertTrue(m.trim());
+		for(long i = 0; i < 10; i++) assertEquals(-i, m.get(i));
+	}
+
+	@Test
+	public void testFastIterator() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		for(long i = -1000; i < 1000; i++) m.put(i, i * i);
+		final ObjectIterator<Long2LongMap.Entry> i = m.long2LongEntrySet().fastIterator();
+		final Long2LongMap.Entry first = i.next();
+		long count = 1;
+		while(i.hasNext()) {
+			final Long2LongMap.Entry e = i.next();
+			assertTrue(first == e);
+			assertEquals(e.getLongKey() * e.getLongKey(), e.getLongValue());
+			e.setValue(-e.getLongKey());
+			count++;
+		}
+		assertEquals(m.size64(), count);
+		for(long k = -1000; k < 1000; k++) assertEquals(-k, m.get(k));
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		for(long i = -1000; i < 1000; i++) m.put(i, i);
+		for(final ObjectIterator<Long2LongMap.Entry> i = m.long2LongEntrySet().iterator(); i.hasNext();) if (i.next().getLongKey() % 2 == 0) i.remove();
+		assertEquals(1000, m.size64());
+		for(long i = -1000; i < 1000; i++) assertEquals(i % 2 != 0, m.containsKey(i));
+		for(final LongIterator i = m.keySet().iterator(); i.hasNext();) {
+			i.nextLong();
+			i.remove();
+		}
+		assertTrue(m.isEmpty());
+	}
+
+	@Test
+	public void testWrapAround() {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap(4, .5f);
+		assertEquals(8, m.n);
+		// The following code inverts HashCommon.mix() and places strategically keys in slots 6, 7 and 0
+		m.put(HashCommon.invMix(6L), 6);
+		m.put(HashCommon.invMix(7L), 7);
+		m.put(HashCommon.invMix(6L + 8), 14);
+		assertNotEquals(0, m.key[0][0]);
+		assertNotEquals(0, m.key[0][6]);
+		assertNotEquals(0, m.key[0][7]);
+		final Long2LongOpenHashBigMap keys = m.clone();
+		final ObjectIterator<Long2LongMap.Entry> i = m.long2LongEntrySet().iterator();
+		final Long2LongOpenHashBigMap t = new Long2LongOpenHashBigMap();
+		Long2LongMap.Entry e;
+		e = i.next();
+		t.put(e.getLongKey(), e.getLongValue());
+		e = i.next();
+		t.put(e.getLongKey(), e.getLongValue());
+		// This remove moves the entry in slot 0 to slot 6, which must be returned from the wrapped list
+		i.remove();
+		e = i.next();
+		t.put(e.getLongKey(), e.getLongValue());
+		assertFalse(i.hasNext());
+		assertEquals(3, t.size64());
+		assertEquals(keys, t);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		final Long2LongOpenHashBigMap m = new Long2LongOpenHashBigMap();
+		for(long i = 0; i < 1000; i++) m.put(i * 31, i);
+		m.defaultReturnValue(-1);
+		final ByteArrayOutputStream store = new ByteArrayOutputStream();
+		final ObjectOutputStream oos = new ObjectOutputStream(store);
+		oos.writeObject(m);
+		oos.close();
+		final Long2LongOpenHashBigMap n = (Long2LongOpenHashBigMap)new ObjectInputStream(new ByteArrayInputStream(store.toByteArray())).readObject();
+		assertEquals(m, n);
+		assertEquals(m.hashCode(), n.hashCode());
+		assertEquals(-1, n.defaultReturnValue());
+		assertEquals(0, n.get(0));
+		assertEquals(-1, n.get(1));
+	}
+}
@@ -0,0 +1,134 @@
+package it.unimi.dsi.fastutil.objects;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+public class Object2IntOpenCustomHashMapTest {
+
+	private static final class CountingStrategy implements Hash.Strategy<int[]> {
+		private int hashes, equals;
+
+		@Override
+		public int hashCode(final int[] a) {
+			hashes++;
+			return IntArrays.HASH_STRATEGY.hashCode(a);
+		}
+
+		@Override
+		public boolean equals(final int[] a, final int[] b) {
+			equals++;
+			return IntArrays.HASH_STRATEGY.equals(a, b);
+		}
+	}
+
+	@Test
+	public void testCachedHashesAvoidHashingOnRehash() {
+		final CountingStrategy strategy = new CountingStrategy();
+		final Object2IntOpenCustomHashMap<int[]> m = new Object2IntOpenCustomHashMap<>(strategy);
+		m.cacheHashes(true);
+		for(int i = 0; i < 10000; i++) m.put(new int[] { i, i + 1 }, i);
+		// One hash per insertion: rehashes reuse cached hashes.
+		assertEquals(10000, strategy.hashes);
+		strategy.equals = 0;
+		for(int i = 0; i < 10000; i++) assertEquals(i, m.getInt(new int[] { i, i + 1 }));
+		// Keys with different hashes are never compared: we just test for the null key, and then compare with the key found.
+		assertEquals(2 * 10000, strategy.equals);
+		strategy.hashes = 0;
+		for(int i = 0; i < 9990; i++) m.removeInt(new int[] { i, i + 1 });
+		assertEquals(9990, strategy.hashes);
+		strategy.hashes = 0;
+		m.trim();
+		assertEquals(0, strategy.hashes);
+		for(int i = 9990; i < 10000; i++) assertEquals(i, m.getInt(new int[] { i, i + 1 }));
+	}
+
+	@Test
+	public void testCachedHashesAgainstHashMap() {
+		for(final boolean incremental : new boolean[] { false, true }) {
+			final Object2IntOpenCustomHashMap<int[]> m = new Object2IntOpenCustomHashMap<>(IntArrays.HASH_STRATEGY);
+			final HashMap<IntArrayKey, Integer> t = new HashMap<>();
+			m.incrementalRehash(incremental);
+			m.defaultReturnValue(-1);
+			final Random r = new Random(0);
+			for(int i = 0; i < 100000; i++) {
+				if (i == 1000) m.cacheHashes(true);
+				final int[] k = { r.nextInt(5000) };
+				final int v = r.nextInt(100);
+				switch(r.nextInt(5)) {
+				case 0:
+					final Integer o = t.put(new IntArrayKey(k), Integer.valueOf(v));
+					assertEquals(o == null ? -1 : o.intValue(), m.put(k, v));
+					break;
+				case 1:
+					final Integer p = t.remove(new IntArrayKey(k));
+					assertEquals(p == null ? -1 : p.intValue(), m.removeInt(k));
+					break;
+				case 2:
+					final Integer q = t.get(new IntArrayKey(k));
+					t.put(new IntArrayKey(k), Integer.valueOf((q == null ? -1 : q.intValue()) + v));
+					assertEquals(q == null ? -1 : q.intValue(), m.addTo(k, v));
+					break;
+				case 3:
+					if (i % 1000 == 0) {
+						for(final ObjectIterator<int[]> it = m.keySet().iterator(); it.hasNext();) {
+							final int[] key = it.next();
+							if (r.nextInt(4) == 0) {
+								it.remove();
+								t.remove(new IntArrayKey(key));
+							}
+						}
+					}
+					break;
+				default:
+					assertEquals(t.containsKey(new IntArrayKey(k)), m.containsKey(k));
+				}
+			}
+			assertEquals(t.size(), m.size());
+			for(final Object2IntMap.Entry<int[]> e : m.object2IntEntrySet()) assertEquals(t.get(new IntArrayKey(e.getKey())).intValue(), e.getIntValue());
+			final Object2IntOpenCustomHashMap<int[]> c = m.clone();
+			for(final IntArrayKey k : t.keySet()) assertEquals(t.get(k).intValue(), c.getInt(k.a));
+		}
+	}
+
+	private static final class IntArrayKey {
+		private final int[] a;
+
+		private IntArrayKey(final int[] a) {
+			this.a = a;
+		}
+
+		@Override
+		public int hashCode() {
+			return java.util.Arrays.hashCode(a);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			return o instanceof IntArrayKey && java.util.Arrays.equals(a, ((IntArrayKey)o).a);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package it.unimi.dsi.fastutil.objects;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.bytes.ByteArrays;
+
+public class Object2IntSwissCustomHashMapTest {
+
+	@Test
+	public void testByteArrays() {
+		final Object2IntSwissCustomHashMap<byte[]> m = new Object2IntSwissCustomHashMap<>(ByteArrays.HASH_STRATEGY);
+		final Object2IntOpenCustomHashMap<byte[]> t = new Object2IntOpenCustomHashMap<>(ByteArrays.HASH_STRATEGY);
+		m.defaultReturnValue(-1);
+		t.defaultReturnValue(-1);
+		final Random r = new Random(0);
+		for(int i = 0; i < 100000; i++) {
+			final byte[] a = new byte[r.nextInt(6)];
+			for(int j = a.length; j-- != 0;) a[j] = (byte)r.nextInt(4);
+			switch(r.nextInt(4)) {
+			case 0: case 1:
+				assertEquals(t.put(a, i), m.put(a, i));
+				break;
+			case 2:
+				assertEquals(t.removeInt(a), m.removeInt(a));
+				break;
+			default:
+				assertEquals(t.getInt(a), m.getInt(a));
+				assertEquals(t.containsKey(a), m.containsKey(a));
+			}
+		}
+		assertEquals(t.size(), m.size());
+		for(final Object2IntMap.Entry<byte[]> e : m.object2IntEntrySet()) assertEquals(t.getInt(e.getKey()), e.getIntValue());
+		assertEquals(t.hashCode(), m.hashCode());
+	}
+
+	@Test
+	public void testNullKey() {
+		final Object2IntSwissCustomHashMap<byte[]> m = new Object2IntSwissCustomHashMap<>(ByteArrays.HASH_STRATEGY);
+		m.put(null, 1);
+		m.put(new byte[0], 2);
+		assertEquals(2, m.size());
+		assertEquals(1, m.getInt(null));
+		assertTrue(m.containsKey(null));
+		final Object2IntSwissCustomHashMap<byte[]> c = m.clone();
+		assertEquals(1, m.removeInt(null));
+		assertFalse(m.containsKey(null));
+		assertEquals(2, m.getInt(new byte[0]));
+		assertEquals(2, c.size());
+		assertEquals(1, c.getInt(null));
+	}
+}
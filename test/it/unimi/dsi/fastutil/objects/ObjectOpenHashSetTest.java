@@ -302,4 +302,18 @@ public class ObjectOpenHashSetTest {
 		assertSame(a, s.get("a"));
 		assertNull(s.get("b"));
 	}
+
+	@Test
+	public void testSetAlgebraWithNull() {
+		final ObjectOpenHashSet<String> a = ObjectOpenHashSet.of(null, "a", "b", "c"), b = ObjectOpenHashSet.of(null, "b", "c", "d");
+		assertEquals(ObjectOpenHashSet.of(null, "a", "b", "c", "d"), a.union(b));
+		assertEquals(ObjectOpenHashSet.of(null, "b", "c"), a.intersection(b));
+		assertEquals(ObjectOpenHashSet.of("a"), a.difference(b));
+		assertTrue(a.union(b).containsAll(a));
+		final ObjectOpenHashSet<String> c = a.clone();
+		assertTrue(c.retainAll(b));
+		assertEquals(a.intersection(b), c);
+		assertTrue(c.removeAll(ObjectOpenHashSet.of(null, "b")));
+		assertEquals(ObjectOpenHashSet.of("c"), c);
+	}
 }
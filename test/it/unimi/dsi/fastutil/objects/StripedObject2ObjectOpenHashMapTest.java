@@ -0,0 +1,86 @@
+package it.unimi.dsi.fastutil.objects;
+
+/*
+ * Copyright (C) 2017-2020 Sebastiano Vigna
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+public class StripedObject2ObjectOpenHashMapTest {
+
+	private static void run(final int threads, final java.util.function.IntConsumer body) throws InterruptedException {
+		final Thread[] thread = new Thread[threads];
+		for(int i = 0; i < threads; i++) {
+			final int id = i;
+			thread[i] = new Thread(() -> body.accept(id));
+		}
+		for(final Thread t : thread) t.start();
+		for(final Thread t : thread) t.join();
+	}
+
+	@Test
+	public void testConcurrentSingleKeyOperations() throws InterruptedException {
+		final StripedObject2ObjectOpenHashMap<String, Integer> m = new StripedObject2ObjectOpenHashMap<>(4);
+		final int threads = 8, keys = 16, rounds = 10000;
+
+		run(threads, id -> {
+			for(int i = 0; i < rounds * keys; i++) {
+				final String key = Integer.toString(i % keys);
+				m.compute(key, (x, v) -> v == null ? 1 : v + 1);
+				m.computeIfPresent(key, (x, v) -> v + 1);
+				Integer old;
+				do old = m.get(key); while (! m.replace(key, old, old + 1));
+			}
+		});
+		assertEquals(keys, m.size());
+		for(int k = 0; k < keys; k++) assertEquals(Integer.valueOf(3 * threads * rounds), m.get(Integer.toString(k)));
+
+		for(int k = 0; k < keys; k++) m.put(Integer.toString(k), 0);
+		final IntArrayList[] seen = new IntArrayList[threads];
+		run(threads, id -> {
+			seen[id] = new IntArrayList();
+			for(int i = 0; i < rounds * keys; i++) seen[id].add(m.replace(Integer.toString(i % keys), id * rounds + i / keys + 1).intValue());
+		});
+		// Each key has been replaced atomically: the previous values and the final one are all distinct.
+		for(int k = 0; k < keys; k++) {
+			final boolean[] found = new boolean[threads * rounds + 1];
+			found[m.get(Integer.toString(k)).intValue()] = true;
+			for(final IntArrayList s : seen) {
+				for(int i = k; i < s.size(); i += keys) {
+					final int v = s.getInt(i);
+					assertTrue(! found[v]);
+					found[v] = true;
+				}
+			}
+		}
+
+		final AtomicInteger removed = new AtomicInteger();
+		run(threads, id -> {
+			for(int k = 0; k < keys; k++) {
+				final String key = Integer.toString(k);
+				if (m.remove(key, m.get(key))) removed.incrementAndGet();
+			}
+		});
+		assertEquals(keys, removed.get());
+		assertTrue(m.isEmpty());
+	}
+}